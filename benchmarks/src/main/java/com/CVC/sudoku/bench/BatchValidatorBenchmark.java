@@ -0,0 +1,107 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BatchValidator;
+import com.CVC.sudoku.BoardGeometry;
+import com.CVC.sudoku.Model;
+import com.CVC.sudoku.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boards checked per microsecond by the {@link BatchValidator}, with and without the
+ * Vector API, against building a {@link Model} for each board and asking
+ * {@link Model#isCompleteAndCorrect()}. The batch is the solutions of the easy corpus,
+ * cycled, with one board in four broken by swapping two cells of a row.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchValidatorBenchmark {
+    private static final int BATCH = 4096;
+
+    @Param({"6", "9"})
+    public int size;
+
+    private BoardGeometry geometry;
+    private int[][][] boards;
+    private int[] columns;
+    private boolean[] results;
+    private BatchValidator vector;
+    private BatchValidator scalar;
+
+    @Setup
+    public void setUp() {
+        geometry = BoardGeometry.ofSize(size);
+        int[][][] puzzles = Corpus.load(size + "x" + size + "-easy", geometry);
+        Solver solver = new Solver(geometry);
+        for (int[][] puzzle : puzzles) {
+            solver.solve(puzzle);
+        }
+        boards = new int[BATCH][][];
+        for (int b = 0; b < BATCH; b++) {
+            int[][] board = new int[size][];
+            for (int row = 0; row < size; row++) {
+                board[row] = puzzles[b % puzzles.length][row].clone();
+            }
+            if (b % 4 == 3) {
+                int row = b % size;
+                int swap = board[row][0];
+                board[row][0] = board[row][1];
+                board[row][1] = swap;
+            }
+            boards[b] = board;
+        }
+        vector = new BatchValidator(geometry);
+        scalar = new BatchValidator(geometry, false);
+        if (!vector.isVectorized()) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules jdk.incubator.vector");
+        }
+        columns = vector.toColumns(boards);
+        results = new boolean[BATCH];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int vector() {
+        return vector.validate(columns, BATCH, results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int scalar() {
+        return scalar.validate(columns, BATCH, results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int model() {
+        int valid = 0;
+        for (int[][] board : boards) {
+            if (new Model(geometry, board).isCompleteAndCorrect()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,75 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BoardGeometry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed puzzle corpus shared by the benchmarks.
+ * Each resource under {@code /corpus} holds one puzzle per line, row by row, with
+ * {@code .} for blanks, {@code 1}-{@code 9} for digits and {@code A}, {@code B}, ...
+ * for digits from 10 up.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class Corpus {
+
+    private Corpus() {
+    }
+
+    /**
+     * Loads a corpus resource.
+     *
+     * @param name the resource name without directory or extension, such as "6x6-easy"
+     * @param geometry the shape of the puzzles in the resource
+     * @return the puzzles, in file order
+     */
+    public static int[][][] load(String name, BoardGeometry geometry) {
+        int size = geometry.getSize();
+        List<int[][]> puzzles = new ArrayList<>();
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name + ".txt")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown corpus " + name);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() != size * size) {
+                    continue;
+                }
+                int[][] board = new int[size][size];
+                for (int cell = 0; cell < line.length(); cell++) {
+                    char c = line.charAt(cell);
+                    board[cell / size][cell % size] = c == '.' ? 0 : c <= '9' ? c - '0' : c - 'A' + 10;
+                }
+                puzzles.add(board);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return puzzles.toArray(new int[0][][]);
+    }
+
+    /**
+     * Copies a board into another of the same size without allocating.
+     *
+     * @param from the source board
+     * @param to the destination board
+     */
+    public static void copy(int[][] from, int[][] to) {
+        for (int i = 0; i < from.length; i++) {
+            System.arraycopy(from[i], 0, to[i], 0, from[i].length);
+        }
+    }
+}
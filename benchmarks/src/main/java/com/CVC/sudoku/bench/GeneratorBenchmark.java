@@ -0,0 +1,59 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.Difficulty;
+import com.CVC.sudoku.Puzzle;
+import com.CVC.sudoku.PuzzleGenerator;
+import com.CVC.sudoku.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of {@link Solver#generateBoard()} and of carving a unique 6x6 puzzle.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    private Solver solver;
+    private PuzzleGenerator generator;
+
+    @Setup
+    public void setUp() {
+        solver = new Solver();
+        generator = new PuzzleGenerator();
+    }
+
+    @Benchmark
+    public int[][] generateBoard() {
+        return solver.generateBoard();
+    }
+
+    @Benchmark
+    public Puzzle generatePuzzle() {
+        return generator.generate(difficulty);
+    }
+}
@@ -0,0 +1,66 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BoardGeometry;
+import com.CVC.sudoku.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time to solve a unique corpus puzzle and to generate a complete board,
+ * for every supported board size.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({"6", "9", "12", "16", "25"})
+    public int size;
+
+    private Solver solver;
+    private int[][][] puzzles;
+    private int[][] scratch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.ofSize(size);
+        solver = new Solver(geometry);
+        String name = size == 6 ? "6x6-hard" : size == 9 ? "9x9-hard" : size + "x" + size;
+        puzzles = Corpus.load(name, geometry);
+        scratch = new int[size][size];
+    }
+
+    @Benchmark
+    public boolean solve() {
+        int[][] puzzle = puzzles[next];
+        next = next + 1 == puzzles.length ? 0 : next + 1;
+        Corpus.copy(puzzle, scratch);
+        return solver.solve(scratch);
+    }
+
+    @Benchmark
+    public int[][] generateBoard() {
+        return solver.generateBoard();
+    }
+}
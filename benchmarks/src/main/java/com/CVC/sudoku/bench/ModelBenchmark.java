@@ -0,0 +1,94 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BoardGeometry;
+import com.CVC.sudoku.Model;
+import com.CVC.sudoku.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Model} checks run on every keystroke and hint.
+ * Uses one puzzle from the easy corpus: {@code open} is the puzzle as given, and
+ * {@code solved} has every empty cell filled with its solution.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private Model open;
+    private Model solved;
+    private int[] emptyCells;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        int[][] puzzle = Corpus.load("6x6-easy", BoardGeometry.SIX)[0];
+        int[][] solution = new int[6][];
+        for (int i = 0; i < 6; i++) {
+            solution[i] = puzzle[i].clone();
+        }
+        new Solver().solve(solution);
+
+        open = new Model(BoardGeometry.SIX, puzzle);
+        solved = new Model(BoardGeometry.SIX, puzzle);
+        int empty = 0;
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                if (puzzle[row][col] == 0) {
+                    solved.setCellValue(row, col, solution[row][col]);
+                    empty++;
+                }
+            }
+        }
+        emptyCells = new int[empty];
+        empty = 0;
+        for (int cell = 0; cell < 36; cell++) {
+            if (puzzle[cell / 6][cell % 6] == 0) {
+                emptyCells[empty++] = cell;
+            }
+        }
+    }
+
+    private int nextEmptyCell() {
+        int cell = emptyCells[next];
+        next = next + 1 == emptyCells.length ? 0 : next + 1;
+        return cell;
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        int cell = nextEmptyCell();
+        return open.isValidMove(cell / 6, cell % 6, cell % 6 + 1);
+    }
+
+    @Benchmark
+    public boolean isCompleteAndCorrect() {
+        return solved.isCompleteAndCorrect();
+    }
+
+    @Benchmark
+    public int getHelp() {
+        int cell = nextEmptyCell();
+        return open.getHelp(cell / 6, cell % 6);
+    }
+}
@@ -0,0 +1,65 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BoardGeometry;
+import com.CVC.sudoku.ParallelSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ParallelSolver} with the number of workers: counts every solution
+ * of a sparse 6x6 board (783,360 solutions). Compare the scores across thread counts
+ * up to the number of cores of the machine.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSolverBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private ParallelSolver solver;
+    private int[][] board;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        solver = new ParallelSolver(BoardGeometry.SIX, pool);
+        board = new int[6][6];
+        board[0][0] = 1;
+        board[3][4] = 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long countAll() {
+        return solver.countSolutions(board, Long.MAX_VALUE);
+    }
+}
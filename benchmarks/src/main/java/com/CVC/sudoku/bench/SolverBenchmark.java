@@ -0,0 +1,70 @@
+package com.CVC.sudoku.bench;
+
+import com.CVC.sudoku.BoardGeometry;
+import com.CVC.sudoku.SolverType;
+import com.CVC.sudoku.SudokuSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of solving 6x6 boards: the empty board and the easy and hard corpus puzzles.
+ * Each invocation solves the next corpus puzzle, copied into a reused scratch board.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"empty", "easy", "hard"})
+    public String board;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS"})
+    public SolverType solverType;
+
+    private SudokuSolver solver;
+    private int[][][] puzzles;
+    private int[][] scratch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        solver = solverType.create(BoardGeometry.SIX);
+        puzzles = board.equals("empty") ? new int[][][]{new int[6][6]} : Corpus.load("6x6-" + board, BoardGeometry.SIX);
+        scratch = new int[6][6];
+    }
+
+    @Benchmark
+    public boolean solve() {
+        int[][] puzzle = puzzles[next];
+        next = next + 1 == puzzles.length ? 0 : next + 1;
+        Corpus.copy(puzzle, scratch);
+        return solver.solve(scratch);
+    }
+
+    @Benchmark
+    public int countToTwo() {
+        int[][] puzzle = puzzles[next];
+        next = next + 1 == puzzles.length ? 0 : next + 1;
+        return solver.countSolutions(puzzle, 2);
+    }
+}
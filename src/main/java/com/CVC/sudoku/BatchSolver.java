@@ -0,0 +1,369 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Headless batch mode that solves and grades a file of puzzles.
+ *
+ * <p>The input holds one puzzle per line in the common single-line format: 36 characters
+ * for 6x6 or 81 for 9x9, read row by row, with {@code 0} or {@code .} for blanks.
+ * Anything after the puzzle on the same line (separated by a space, tab, comma or
+ * semicolon) is ignored, as are blank lines and lines starting with {@code #}.</p>
+ *
+ * <p>The file is streamed through a {@link FileChannel} in fixed-size chunks and cut
+ * into batches that a pool of worker threads solves. Only a bounded number of batches
+ * is in flight at once, and results are written in input order, so memory use does not
+ * depend on the size of the input. Each output line is the solution (or the puzzle, if
+ * there is none) followed by a comma and one of {@code unique}, {@code multiple},
+ * {@code unsolvable} or {@code invalid}.</p>
+ *
+ * <p>Usage: {@code --batch <input> [output] [--threads N] [--solver TYPE]}; without
+ * {@code --solver}, the strategy named by the {@code sudoku.solver} system property is
+ * used (see {@link SolverType#configured()}). Without an output file, results go to
+ * standard output. A summary with the puzzles per second is
+ * printed to standard error at the end.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class BatchSolver {
+    private static final int READ_CHUNK = 1 << 20;
+    private static final int BATCH_PUZZLES = 4096;
+    private static final int MAX_LINE = 256;
+
+    private static final int UNIQUE = 0;
+    private static final int MULTIPLE = 1;
+    private static final int UNSOLVABLE = 2;
+    private static final int INVALID = 3;
+    private static final String[] STATUS_NAMES = {"unique", "multiple", "unsolvable", "invalid"};
+
+    private final int threads;
+    private final SolverType solverType;
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUS_NAMES.length);
+    private final ThreadLocal<Map<BoardGeometry, Worker>> workers = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Constructs a batch solver.
+     *
+     * @param threads the number of worker threads
+     * @param solverType the solving strategy each worker uses
+     */
+    public BatchSolver(int threads, SolverType solverType) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+        this.solverType = solverType;
+    }
+
+    /**
+     * Entry point of the batch mode.
+     *
+     * @param args the command line arguments, without the leading {@code --batch}
+     */
+    public static void main(String[] args) {
+        String input = null;
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SolverType solverType = SolverType.configured();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--solver":
+                        solverType = SolverType.fromName(args[++i]);
+                        break;
+                    default:
+                        if (input == null) {
+                            input = args[i];
+                        } else if (output == null) {
+                            output = args[i];
+                        } else {
+                            throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                        }
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("Missing input file");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --batch <input> [output] [--threads N] [--solver TYPE]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            BatchSolver batch = new BatchSolver(threads, solverType);
+            long start = System.nanoTime();
+            long puzzles = batch.run(Paths.get(input), output == null ? null : Paths.get(output));
+            batch.printSummary(System.err, puzzles, System.nanoTime() - start);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Solves every puzzle of an input file and writes the results in input order.
+     *
+     * @param input the puzzle file
+     * @param output the result file, or null for standard output
+     * @return the number of puzzles processed
+     * @throws IOException if reading or writing fails
+     */
+    public long run(Path input, Path output) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+        int maxInFlight = 2 * threads;
+        long puzzles = 0;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             WritableByteChannel out = output == null
+                     ? Channels.newChannel(System.out)
+                     : FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect(READ_CHUNK);
+            byte[] line = new byte[MAX_LINE];
+            int lineLength = 0;
+            Batch batch = new Batch();
+
+            while (in.read(chunk) != -1) {
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    byte b = chunk.get();
+                    if (b == '\n') {
+                        if (batch.add(line, lineLength)) {
+                            puzzles++;
+                        }
+                        lineLength = 0;
+                        if (batch.count == BATCH_PUZZLES) {
+                            submit(pool, pending, batch, out, maxInFlight);
+                            batch = new Batch();
+                        }
+                    } else if (lineLength < MAX_LINE) {
+                        // Longer lines are cut short and end up reported as invalid
+                        line[lineLength++] = b;
+                    }
+                }
+                chunk.clear();
+            }
+            if (lineLength > 0 && batch.add(line, lineLength)) {
+                puzzles++;
+            }
+            if (batch.count > 0) {
+                submit(pool, pending, batch, out, maxInFlight);
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return puzzles;
+    }
+
+    /**
+     * Prints the totals of a run.
+     *
+     * @param out the stream to print to
+     * @param puzzles the number of puzzles processed
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void printSummary(PrintStream out, long puzzles, long nanos) {
+        double seconds = nanos / 1e9;
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Processed %d puzzles in %.3f s (%.0f puzzles/sec)",
+                puzzles, seconds, seconds > 0 ? puzzles / seconds : 0.0));
+        for (int status = 0; status < STATUS_NAMES.length; status++) {
+            summary.append(status == 0 ? ": " : ", ")
+                    .append(STATUS_NAMES[status]).append(' ').append(statusCounts.get(status));
+        }
+        out.println(summary);
+    }
+
+    private void submit(ExecutorService pool, ArrayDeque<Future<ByteBuffer>> pending, Batch batch,
+                        WritableByteChannel out, int maxInFlight) throws IOException {
+        pending.add(pool.submit(() -> solveBatch(batch)));
+        while (pending.size() >= maxInFlight) {
+            write(pending.poll(), out);
+        }
+    }
+
+    private void write(Future<ByteBuffer> result, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer;
+        try {
+            buffer = result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for results", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Batch failed", e.getCause());
+        }
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Solves every puzzle of a batch on the calling worker thread.
+     *
+     * @param batch the puzzles to solve
+     * @return the encoded result lines
+     */
+    private ByteBuffer solveBatch(Batch batch) {
+        // Widest line: 81 digits, a comma, the longest status and a newline
+        byte[] result = new byte[batch.count * (MAX_LINE + 16)];
+        int length = 0;
+        for (int i = 0; i < batch.count; i++) {
+            length = solveLine(batch.data, batch.offsets[i], batch.lengths[i], result, length);
+        }
+        return ByteBuffer.wrap(result, 0, length);
+    }
+
+    private int solveLine(byte[] data, int offset, int length, byte[] result, int position) {
+        int cells = length == 36 ? 36 : length == 81 ? 81 : -1;
+        int status;
+        if (cells < 0) {
+            status = INVALID;
+        } else {
+            Worker worker = worker(cells == 36 ? BoardGeometry.SIX : BoardGeometry.NINE);
+            status = worker.solve(data, offset);
+            if (status == UNIQUE || status == MULTIPLE) {
+                for (int cell = 0; cell < cells; cell++) {
+                    data[offset + cell] = (byte) ('0' + worker.board[cell / worker.size][cell % worker.size]);
+                }
+            }
+        }
+        statusCounts.incrementAndGet(status);
+
+        System.arraycopy(data, offset, result, position, Math.min(length, MAX_LINE));
+        position += Math.min(length, MAX_LINE);
+        result[position++] = ',';
+        byte[] name = STATUS_NAMES[status].getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(name, 0, result, position, name.length);
+        position += name.length;
+        result[position++] = '\n';
+        return position;
+    }
+
+    private Worker worker(BoardGeometry geometry) {
+        return workers.get().computeIfAbsent(geometry, g -> new Worker(solverType.create(g)));
+    }
+
+    /**
+     * Per-thread solver and scratch board for one board size.
+     */
+    private static final class Worker {
+        final SudokuSolver solver;
+        final int size;
+        final int[][] board;
+        // One search both counts up to two solutions and keeps the first in the board
+        private final Consumer<int[][]> keepFirst = this::keepFirst;
+        private boolean kept;
+
+        Worker(SudokuSolver solver) {
+            this.solver = solver;
+            this.size = solver.getGeometry().getSize();
+            this.board = new int[size][size];
+        }
+
+        private void keepFirst(int[][] solution) {
+            if (!kept) {
+                for (int row = 0; row < size; row++) {
+                    System.arraycopy(solution[row], 0, board[row], 0, size);
+                }
+                kept = true;
+            }
+        }
+
+        int solve(byte[] data, int offset) {
+            for (int cell = 0; cell < size * size; cell++) {
+                byte c = data[offset + cell];
+                int value;
+                if (c == '.' || c == '0') {
+                    value = 0;
+                } else if (c >= '1' && c <= '0' + size) {
+                    value = c - '0';
+                } else {
+                    return INVALID;
+                }
+                board[cell / size][cell % size] = value;
+            }
+
+            kept = false;
+            int solutions = solver.findSolutions(board, 2, keepFirst);
+            if (solutions == 0) {
+                return UNSOLVABLE;
+            }
+            return solutions == 1 ? UNIQUE : MULTIPLE;
+        }
+    }
+
+    /**
+     * A group of puzzle lines packed into one byte array.
+     */
+    private static final class Batch {
+        final byte[] data = new byte[BATCH_PUZZLES * MAX_LINE];
+        final int[] offsets = new int[BATCH_PUZZLES];
+        final int[] lengths = new int[BATCH_PUZZLES];
+        int count;
+        int used;
+
+        /**
+         * Adds the puzzle token of a line, skipping blank and comment lines.
+         *
+         * @param line the raw line bytes, without the newline
+         * @param length the number of bytes in the line
+         * @return true if a puzzle was added
+         */
+        boolean add(byte[] line, int length) {
+            int start = 0;
+            while (start < length && (line[start] == ' ' || line[start] == '\t')) {
+                start++;
+            }
+            if (start == length || line[start] == '\r' || line[start] == '#') {
+                return false;
+            }
+            int end = start;
+            while (end < length && line[end] != ' ' && line[end] != '\t' && line[end] != ','
+                    && line[end] != ';' && line[end] != '\r') {
+                end++;
+            }
+            System.arraycopy(line, start, data, used, end - start);
+            offsets[count] = used;
+            lengths[count] = end - start;
+            used += end - start;
+            count++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.CVC.sudoku;
+
+/**
+ * Checks many complete boards at once for correctness, for ingesting submitted
+ * solutions in bulk rather than building a {@link Model} for each.
+ *
+ * <p>Boards are passed in a struct-of-arrays layout: with {@code count} boards, the
+ * value of cell {@code c} (row * size + col) of board {@code b} is at
+ * {@code columns[c * count + b]}, so the same cell of consecutive boards is
+ * contiguous. A board is correct when every row, column and block holds each digit
+ * exactly once, which is checked as the OR of {@code 1 << (value - 1)} over the unit
+ * being exactly {@link BoardGeometry#getAllDigits()}; an empty or out-of-range cell
+ * contributes a bit outside that mask, so it fails the same test with no extra branch.</p>
+ *
+ * <p>When the {@code jdk.incubator.vector} module is present (run with
+ * {@code --add-modules jdk.incubator.vector}), a lane of a SIMD register holds one
+ * board and a block of boards is checked per instruction. Otherwise the same blocked
+ * loops run on scalars. Both give the same results.</p>
+ *
+ * <p>A validator holds no mutable state and may be shared between threads.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class BatchValidator {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final boolean VECTOR_AVAILABLE = vectorAvailable();
+    private static final int SCALAR_BLOCK = 64;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int all;
+    private final int[] units;
+    private final boolean vectorized;
+
+    /**
+     * Constructs a validator that uses the Vector API when it is available.
+     *
+     * @param geometry the shape of the boards
+     */
+    public BatchValidator(BoardGeometry geometry) {
+        this(geometry, true);
+    }
+
+    /**
+     * Constructs a validator.
+     *
+     * @param geometry the shape of the boards
+     * @param vectorize false to use the scalar loops even when the Vector API is
+     *        available, for comparing the two
+     */
+    public BatchValidator(BoardGeometry geometry, boolean vectorize) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.all = geometry.getAllDigits();
+        this.units = geometry.unitCells();
+        this.vectorized = vectorize && VECTOR_AVAILABLE;
+    }
+
+    private static boolean vectorAvailable() {
+        Module self = BatchValidator.class.getModule();
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).map(self::canRead).orElse(false);
+    }
+
+    /**
+     * Gets the shape of the boards this validator checks.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Tells whether this validator runs on the Vector API.
+     *
+     * @return true if it uses SIMD lanes, false if it uses the scalar loops
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Checks a batch of boards.
+     *
+     * @param columns the boards in struct-of-arrays layout, at least
+     *        {@code cellCount * count} values
+     * @param count the number of boards
+     * @param results receives, for each board, whether it is complete and correct
+     * @return the number of correct boards
+     * @throws IllegalArgumentException if an array is too short
+     */
+    public int validate(int[] columns, int count, boolean[] results) {
+        if (count < 0 || columns.length < (long) cells * count || results.length < count) {
+            throw new IllegalArgumentException("Arrays are too short for " + count + " boards");
+        }
+        int done = 0;
+        int valid = 0;
+        if (vectorized) {
+            done = VectorBatchKernel.blockedLength(count);
+            valid = VectorBatchKernel.validate(units, size, cells, all, columns, count, done, results);
+        }
+        int[] bits = new int[cells * SCALAR_BLOCK];
+        int[] seen = new int[SCALAR_BLOCK];
+        int[] wrong = new int[SCALAR_BLOCK];
+        for (int from = done; from < count; from += SCALAR_BLOCK) {
+            valid += validateScalar(columns, count, from, Math.min(SCALAR_BLOCK, count - from), bits, seen, wrong,
+                    results);
+        }
+        return valid;
+    }
+
+    /**
+     * Checks {@code n} consecutive boards: first the digit bit of every cell of every
+     * board, then the OR of each unit. Every inner loop runs over boards, which keeps
+     * it simple enough for the JIT to vectorize on its own.
+     */
+    private int validateScalar(int[] columns, int count, int from, int n, int[] bits, int[] seen, int[] wrong,
+                               boolean[] results) {
+        for (int cell = 0; cell < cells; cell++) {
+            int src = cell * count + from;
+            int dest = cell * SCALAR_BLOCK;
+            for (int i = 0; i < n; i++) {
+                int digit = columns[src + i] - 1;
+                bits[dest + i] = 1 << ((digit & ~31) == 0 ? digit : 31);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            wrong[i] = 0;
+        }
+        for (int start = 0; start < units.length; start += size) {
+            for (int i = 0; i < n; i++) {
+                seen[i] = 0;
+            }
+            for (int k = start; k < start + size; k++) {
+                int src = units[k] * SCALAR_BLOCK;
+                for (int i = 0; i < n; i++) {
+                    seen[i] |= bits[src + i];
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                wrong[i] |= seen[i] ^ all;
+            }
+        }
+        int valid = 0;
+        for (int i = 0; i < n; i++) {
+            results[from + i] = wrong[i] == 0;
+            if (wrong[i] == 0) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Lays boards out in the struct-of-arrays form {@link #validate} takes.
+     *
+     * @param boards the boards, each {@code size} by {@code size}
+     * @return the values, {@code columns[cell * boards.length + board]}
+     */
+    public int[] toColumns(int[][][] boards) {
+        int count = boards.length;
+        int[] columns = new int[cells * count];
+        for (int b = 0; b < count; b++) {
+            int[][] board = boards[b];
+            if (board.length != size) {
+                throw new IllegalArgumentException("Board " + b + " is not " + size + "x" + size);
+            }
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    columns[(row * size + col) * count + b] = board[row][col];
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,319 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a board to a canonical representative of its equivalence class under the
+ * validity-preserving symmetries of Sudoku: relabeling the digits, permuting the bands
+ * (groups of rows sharing blocks), the rows within a band, the stacks (groups of
+ * columns sharing blocks) and the columns within a stack, and, when the blocks are
+ * square, transposing the board. Two boards are equivalent exactly when their
+ * canonical forms are equal.
+ *
+ * <p>The canonical form is the lexicographically smallest row-major cell sequence over
+ * all row and column arrangements, with the digits relabeled in order of first
+ * appearance and empty cells ranking first. For each column arrangement, the rows are
+ * chosen one at a time, depth first: a row that compares greater than the same row of
+ * the best board found so far cuts the whole branch, and a smaller one becomes the new
+ * best at once. Since the relabeling of a row only depends on the rows above it, most
+ * branches end within two or three rows. A 6x6 board has 3,456 row and column
+ * arrangements; a 9x9 board, about 3.4 million, so larger boards are rejected.</p>
+ *
+ * <p>A canonicalizer reuses scratch arrays between calls and is not thread-safe.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class BoardCanonicalizer {
+    /** Largest number of arrangements a canonicalizer will try per board. */
+    public static final long MAX_TRANSFORMS = 1L << 22;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int bandHeight;
+    private final boolean transpose;
+    private final long rowArrangements;
+    private final int[][] colOrders;
+
+    private final int[] source;
+    private final int[] transposed;
+    // The board with the columns of the current arrangement, one row after another
+    private final int[] arranged;
+    private final int[] relabel;
+    private final boolean[] usedRows;
+    private final int[] best;
+    private final int[] row;
+    // Rows of best from this index on are not set yet and compare as larger than anything
+    private int bestRows;
+
+    /**
+     * Constructs a canonicalizer for the classic 6x6 board.
+     */
+    public BoardCanonicalizer() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a canonicalizer and lists the column arrangements to try.
+     *
+     * @param geometry the shape of the boards to canonicalize
+     * @throws IllegalArgumentException if the board is a jigsaw, whose regions have no
+     *         bands and stacks to permute, or has too many arrangements
+     */
+    public BoardCanonicalizer(BoardGeometry geometry) {
+        if (geometry.isJigsaw()) {
+            throw new IllegalArgumentException("Cannot canonicalize a jigsaw board");
+        }
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.bandHeight = geometry.getBoxRows();
+        this.transpose = geometry.getBoxRows() == geometry.getBoxCols();
+        this.rowArrangements = arrangementCount(size / bandHeight, bandHeight);
+        long colArrangements = arrangementCount(size / geometry.getBoxCols(), geometry.getBoxCols());
+        if (rowArrangements * colArrangements * (transpose ? 2 : 1) > MAX_TRANSFORMS) {
+            throw new IllegalArgumentException("Too many symmetries to canonicalize a " + geometry + " board");
+        }
+        this.colOrders = lineOrders(size / geometry.getBoxCols(), geometry.getBoxCols());
+        this.source = new int[cells];
+        this.transposed = new int[cells];
+        this.arranged = new int[cells];
+        this.relabel = new int[size + 1];
+        this.usedRows = new boolean[size];
+        this.best = new int[cells];
+        this.row = new int[size];
+    }
+
+    /**
+     * Gets the shape of the boards this canonicalizer works on.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of row and column arrangements tried per board.
+     *
+     * @return the number of geometric symmetries
+     */
+    public long getTransformCount() {
+        return rowArrangements * colOrders.length * (transpose ? 2 : 1);
+    }
+
+    /**
+     * Computes the canonical form of a board.
+     *
+     * @param board the board (0 for empty cells); it is not modified
+     * @param dest receives the canonical cells in row-major order, one per cell
+     * @return {@code dest}
+     */
+    public int[] canonicalize(int[][] board, int[] dest) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                source[r * size + c] = board[r][c];
+                transposed[c * size + r] = board[r][c];
+            }
+        }
+        bestRows = 0;
+        search(source);
+        if (transpose) {
+            search(transposed);
+        }
+        System.arraycopy(best, 0, dest, 0, cells);
+        return dest;
+    }
+
+    /**
+     * Tries every column arrangement of one board, choosing its rows depth first.
+     *
+     * @param board the flat board to rearrange
+     */
+    private void search(int[] board) {
+        for (int[] cols : colOrders) {
+            for (int r = 0; r < size; r++) {
+                int base = r * size;
+                for (int c = 0; c < size; c++) {
+                    arranged[base + c] = board[base + cols[c]];
+                }
+            }
+            placeRow(0, 1, -1);
+        }
+    }
+
+    /**
+     * Chooses the row at one position, then the rows below it. The rows above match
+     * the first rows of {@code best}.
+     *
+     * @param position the row position being filled
+     * @param nextLabel the label for the next digit not seen yet
+     * @param band the band of the row above, used while inside a band
+     */
+    private void placeRow(int position, int nextLabel, int band) {
+        if (position == size) {
+            return;
+        }
+        int first;
+        int last;
+        if (position % bandHeight == 0) {
+            // Starting a band: any row of a band not used yet
+            first = 0;
+            last = size;
+        } else {
+            first = band * bandHeight;
+            last = first + bandHeight;
+        }
+        int offset = position * size;
+
+        for (int line = first; line < last; line++) {
+            if (usedRows[line]) {
+                continue;
+            }
+            // Relabel the row, remembering which labels it introduced
+            int labels = nextLabel;
+            int base = line * size;
+            for (int c = 0; c < size; c++) {
+                int value = arranged[base + c];
+                if (value != 0) {
+                    int label = relabel[value];
+                    if (label == 0) {
+                        label = labels++;
+                        relabel[value] = label;
+                    }
+                    value = label;
+                }
+                row[c] = value;
+            }
+
+            int order = position < bestRows ? compareRow(offset) : -1;
+            if (order <= 0) {
+                if (order < 0) {
+                    System.arraycopy(row, 0, best, offset, size);
+                    bestRows = position + 1;
+                }
+                usedRows[line] = true;
+                placeRow(position + 1, labels, line / bandHeight);
+                usedRows[line] = false;
+            }
+
+            for (int c = 0; c < size; c++) {
+                int value = arranged[base + c];
+                if (value != 0 && relabel[value] >= nextLabel) {
+                    relabel[value] = 0;
+                }
+            }
+        }
+    }
+
+    private int compareRow(int offset) {
+        for (int c = 0; c < size; c++) {
+            int difference = row[c] - best[offset + c];
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static long arrangementCount(int groups, int width) {
+        long count = factorial(groups);
+        for (int g = 0; g < groups; g++) {
+            count *= factorial(width);
+        }
+        return count;
+    }
+
+    private static long factorial(int n) {
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    /**
+     * Lists every arrangement of lines grouped into blocks: any order of the groups,
+     * and any order of the lines within each group.
+     *
+     * @param groups the number of groups (bands or stacks)
+     * @param width the number of lines per group
+     * @return one array per arrangement, giving the original line for each position
+     */
+    private static int[][] lineOrders(int groups, int width) {
+        int[][] groupOrders = permutations(groups);
+        int[][] inner = permutations(width);
+        long total = arrangementCount(groups, width);
+
+        int[][] orders = new int[(int) total][];
+        int next = 0;
+        int[] choice = new int[groups];
+        for (int[] groupOrder : groupOrders) {
+            Arrays.fill(choice, 0);
+            while (true) {
+                int[] order = new int[groups * width];
+                for (int g = 0; g < groups; g++) {
+                    for (int i = 0; i < width; i++) {
+                        order[g * width + i] = groupOrder[g] * width + inner[choice[g]][i];
+                    }
+                }
+                orders[next++] = order;
+                // Advance the mixed-radix counter over the inner arrangement of each group
+                int g = groups - 1;
+                while (g >= 0 && ++choice[g] == inner.length) {
+                    choice[g--] = 0;
+                }
+                if (g < 0) {
+                    break;
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Lists every permutation of {@code 0..n-1} in lexicographic order.
+     *
+     * @param n the number of elements
+     * @return the permutations
+     */
+    private static int[][] permutations(int n) {
+        int count = 1;
+        for (int i = 2; i <= n; i++) {
+            count *= i;
+        }
+        int[][] result = new int[count][];
+        int[] current = new int[n];
+        for (int i = 0; i < n; i++) {
+            current[i] = i;
+        }
+        for (int k = 0; k < count; k++) {
+            result[k] = current.clone();
+            // Next permutation in lexicographic order
+            int i = n - 2;
+            while (i >= 0 && current[i] > current[i + 1]) {
+                i--;
+            }
+            if (i < 0) {
+                break;
+            }
+            int j = n - 1;
+            while (current[j] < current[i]) {
+                j--;
+            }
+            int swap = current[i];
+            current[i] = current[j];
+            current[j] = swap;
+            for (int a = i + 1, b = n - 1; a < b; a++, b--) {
+                swap = current[a];
+                current[a] = current[b];
+                current[b] = swap;
+            }
+        }
+        return result;
+    }
+}
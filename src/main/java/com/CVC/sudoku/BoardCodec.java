@@ -0,0 +1,287 @@
+package com.CVC.sudoku;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packs boards into a few {@code long} words, for storing and comparing large numbers
+ * of boards without an object per board.
+ *
+ * <p>Every cell takes just enough bits for the digits of the board (3 bits for 6x6,
+ * 4 for 9x9, 5 up to 25x25), packed row by row into the value words without crossing
+ * a word boundary. The fixed cells follow as a bit mask, one bit per cell. A 6x6 board
+ * therefore takes two value words (21 cells each) and one mask word, three longs in
+ * all. Packed boards live in caller-owned {@code long[]} arrays at a given offset, so a
+ * whole corpus can sit in a single array. The value words alone can also be written to
+ * and read from a {@link ByteBuffer}, for file formats that store them.</p>
+ *
+ * <p>A codec holds no mutable state and may be shared between threads.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class BoardCodec {
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int bitsPerCell;
+    private final int cellsPerWord;
+    private final long cellMask;
+    private final int valueWords;
+    private final int maskWords;
+
+    /**
+     * Constructs a codec for the given board shape.
+     *
+     * @param geometry the shape of the boards to pack
+     */
+    public BoardCodec(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.bitsPerCell = 32 - Integer.numberOfLeadingZeros(size);
+        this.cellsPerWord = 64 / bitsPerCell;
+        this.cellMask = (1L << bitsPerCell) - 1;
+        this.valueWords = (cells + cellsPerWord - 1) / cellsPerWord;
+        this.maskWords = (cells + 63) / 64;
+    }
+
+    /**
+     * Gets the shape of the boards this codec packs.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of bits each cell takes in the value words.
+     *
+     * @return the bits per cell
+     */
+    public int getBitsPerCell() {
+        return bitsPerCell;
+    }
+
+    /**
+     * Gets the number of words holding the cell values.
+     *
+     * @return the value word count
+     */
+    public int getValueWords() {
+        return valueWords;
+    }
+
+    /**
+     * Gets the number of words of a packed board, values and fixed mask together.
+     *
+     * @return the total word count
+     */
+    public int getWords() {
+        return valueWords + maskWords;
+    }
+
+    /**
+     * Packs a board whose non-empty cells are all fixed, such as a puzzle's givens.
+     *
+     * @param board the board to pack (0 for empty cells)
+     * @param dest the array to write to
+     * @param offset the index of the first word to write
+     */
+    public void encode(int[][] board, long[] dest, int offset) {
+        encode(board, null, dest, offset);
+    }
+
+    /**
+     * Packs a board and its fixed cells.
+     *
+     * @param board the board to pack (0 for empty cells)
+     * @param fixed the fixed cells, or null to fix every non-empty cell
+     * @param dest the array to write to
+     * @param offset the index of the first word to write
+     */
+    public void encode(int[][] board, boolean[][] fixed, long[] dest, int offset) {
+        // Running word and shift counters instead of a division per cell, as this is
+        // on the path of every cache lookup
+        long word = 0;
+        long mask = 0;
+        int index = offset;
+        int inWord = 0;
+        int cell = 0;
+        for (int row = 0; row < size; row++) {
+            int[] values = board[row];
+            boolean[] fixedRow = fixed == null ? null : fixed[row];
+            for (int col = 0; col < size; col++, cell++) {
+                int value = values[col];
+                word |= (long) value << (inWord * bitsPerCell);
+                if (fixedRow == null ? value != 0 : fixedRow[col]) {
+                    mask |= 1L << cell;
+                }
+                if (++inWord == cellsPerWord) {
+                    dest[index++] = word;
+                    word = 0;
+                    inWord = 0;
+                }
+                if ((cell & 63) == 63) {
+                    dest[offset + valueWords + (cell >>> 6)] = mask;
+                    mask = 0;
+                }
+            }
+        }
+        if (inWord != 0) {
+            dest[index] = word;
+        }
+        if ((cells & 63) != 0) {
+            dest[offset + valueWords + (cells >>> 6)] = mask;
+        }
+    }
+
+    /**
+     * Packs a board given as a flat array in row-major order, fixing every non-empty cell.
+     *
+     * @param values the cell values, one per cell (0 for empty cells)
+     * @param dest the array to write to
+     * @param offset the index of the first word to write
+     */
+    public void encode(int[] values, long[] dest, int offset) {
+        for (int i = 0; i < getWords(); i++) {
+            dest[offset + i] = 0;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            int value = values[cell];
+            dest[offset + cell / cellsPerWord] |= (long) value << (cell % cellsPerWord * bitsPerCell);
+            if (value != 0) {
+                dest[offset + valueWords + (cell >>> 6)] |= 1L << cell;
+            }
+        }
+    }
+
+    /**
+     * Unpacks the cell values of a packed board.
+     *
+     * @param src the array holding the packed board
+     * @param offset the index of its first word
+     * @param board receives the cell values (0 for empty cells)
+     */
+    public void decode(long[] src, int offset, int[][] board) {
+        long word = src[offset];
+        int index = offset;
+        int inWord = 0;
+        for (int row = 0; row < size; row++) {
+            int[] values = board[row];
+            for (int col = 0; col < size; col++) {
+                if (inWord == cellsPerWord) {
+                    word = src[++index];
+                    inWord = 0;
+                }
+                values[col] = (int) (word & cellMask);
+                word >>>= bitsPerCell;
+                inWord++;
+            }
+        }
+    }
+
+    /**
+     * Unpacks the fixed cells of a packed board.
+     *
+     * @param src the array holding the packed board
+     * @param offset the index of its first word
+     * @param fixed receives true for every fixed cell
+     */
+    public void decodeFixed(long[] src, int offset, boolean[][] fixed) {
+        int cell = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++, cell++) {
+                fixed[row][col] = (src[offset + valueWords + (cell >>> 6)] & 1L << cell) != 0;
+            }
+        }
+    }
+
+    /**
+     * Writes the value words of a board into a buffer, without the fixed mask.
+     * The buffer's position is not changed.
+     *
+     * @param board the board to pack (0 for empty cells)
+     * @param dest the buffer to write to
+     * @param position the byte index of the first word
+     */
+    public void encodeValues(int[][] board, ByteBuffer dest, int position) {
+        long word = 0;
+        int cell = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++, cell++) {
+                word |= (long) board[row][col] << (cell % cellsPerWord * bitsPerCell);
+                if (cell % cellsPerWord == cellsPerWord - 1) {
+                    dest.putLong(position + cell / cellsPerWord * Long.BYTES, word);
+                    word = 0;
+                }
+            }
+        }
+        if (cells % cellsPerWord != 0) {
+            dest.putLong(position + (valueWords - 1) * Long.BYTES, word);
+        }
+    }
+
+    /**
+     * Reads value words written by {@link #encodeValues(int[][], ByteBuffer, int)}.
+     * The buffer's position is not changed.
+     *
+     * @param src the buffer to read from
+     * @param position the byte index of the first word
+     * @param board receives the cell values (0 for empty cells)
+     */
+    public void decodeValues(ByteBuffer src, int position, int[][] board) {
+        long word = 0;
+        int cell = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++, cell++) {
+                int shift = cell % cellsPerWord * bitsPerCell;
+                if (shift == 0) {
+                    word = src.getLong(position + cell / cellsPerWord * Long.BYTES);
+                }
+                board[row][col] = (int) (word >>> shift & cellMask);
+            }
+        }
+    }
+
+    /**
+     * Reads one cell of a packed board.
+     *
+     * @param src the array holding the packed board
+     * @param offset the index of its first word
+     * @param cell the flat cell index (row * size + col)
+     * @return the cell value (0 for empty)
+     */
+    public int getValue(long[] src, int offset, int cell) {
+        return (int) (src[offset + cell / cellsPerWord] >>> (cell % cellsPerWord * bitsPerCell) & cellMask);
+    }
+
+    /**
+     * Overwrites one cell of a packed board, leaving its fixed bit alone.
+     *
+     * @param dest the array holding the packed board
+     * @param offset the index of its first word
+     * @param cell the flat cell index (row * size + col)
+     * @param value the new cell value (0 for empty)
+     */
+    public void setValue(long[] dest, int offset, int cell, int value) {
+        int shift = cell % cellsPerWord * bitsPerCell;
+        int word = offset + cell / cellsPerWord;
+        dest[word] = dest[word] & ~(cellMask << shift) | (long) value << shift;
+    }
+
+    /**
+     * Tells whether one cell of a packed board is fixed.
+     *
+     * @param src the array holding the packed board
+     * @param offset the index of its first word
+     * @param cell the flat cell index (row * size + col)
+     * @return true if the cell is fixed
+     */
+    public boolean isFixed(long[] src, int offset, int cell) {
+        return (src[offset + valueWords + (cell >>> 6)] & 1L << cell) != 0;
+    }
+}
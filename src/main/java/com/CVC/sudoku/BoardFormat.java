@@ -0,0 +1,72 @@
+package com.CVC.sudoku;
+
+/**
+ * The single-line text format of a board, shared by the tools that read and write
+ * boards as text: the cells row by row, with {@code 0} or {@code .} for blanks,
+ * {@code 1}-{@code 9} for digits and {@code A} upwards for 10 and above. The side
+ * (6, 9, 12, 16 or 25) follows from the length, and anything from a comma on is
+ * ignored.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+final class BoardFormat {
+    private BoardFormat() {
+    }
+
+    /**
+     * Parses a board in the single-line format.
+     *
+     * @param line the cells row by row
+     * @return the board, or null if the line is not a board of a standard size
+     */
+    static int[][] parseBoard(String line) {
+        String text = line.trim();
+        int separator = text.indexOf(',');
+        if (separator >= 0) {
+            text = text.substring(0, separator);
+        }
+        int size = (int) Math.round(Math.sqrt(text.length()));
+        if (size * size != text.length() || size != 6 && size != 9 && size != 12 && size != 16 && size != 25) {
+            return null;
+        }
+        int[][] board = new int[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            char c = Character.toUpperCase(text.charAt(cell));
+            int value;
+            if (c == '.' || c == '0') {
+                value = 0;
+            } else if (c >= '1' && c <= '9') {
+                value = c - '0';
+            } else if (c >= 'A' && c <= 'Z') {
+                value = c - 'A' + 10;
+            } else {
+                return null;
+            }
+            if (value > size) {
+                return null;
+            }
+            board[cell / size][cell % size] = value;
+        }
+        return board;
+    }
+
+    /**
+     * Formats a board in the single-line format, with {@code .} for blanks.
+     *
+     * @param board the board
+     * @return the cells row by row
+     */
+    static String formatBoard(int[][] board) {
+        StringBuilder text = new StringBuilder(board.length * board.length);
+        for (int[] row : board) {
+            for (int value : row) {
+                text.append(value == 0 ? '.' : value < 10 ? (char) ('0' + value) : (char) ('A' + value - 10));
+            }
+        }
+        return text.toString();
+    }
+}
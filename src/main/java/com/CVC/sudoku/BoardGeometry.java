@@ -0,0 +1,355 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Describes the shape of a Sudoku board: its side length and the size of its blocks.
+ * A board of side N is split into blocks of boxRows x boxCols cells, with
+ * N = boxRows * boxCols, and uses the digits 1 to N. A jigsaw board instead splits the
+ * grid into N irregular regions of N cells each, given by a region map; everything that
+ * works from the tables below runs on both.
+ *
+ * <p>Instances are immutable and precompute the row, column and block of every cell,
+ * the cells of every unit and the peers of every cell, so they can be shared freely
+ * between models and solvers and no check has to derive a block arithmetically.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class BoardGeometry {
+    /** Largest supported side length, so that a set of digits fits in an int mask. */
+    public static final int MAX_SIZE = 31;
+
+    /** The classic 6x6 board with 2x3 blocks. */
+    public static final BoardGeometry SIX = new BoardGeometry(2, 3);
+    /** The standard 9x9 board with 3x3 blocks. */
+    public static final BoardGeometry NINE = new BoardGeometry(3, 3);
+    /** A 12x12 board with 3x4 blocks. */
+    public static final BoardGeometry TWELVE = new BoardGeometry(3, 4);
+    /** A 16x16 board with 4x4 blocks. */
+    public static final BoardGeometry SIXTEEN = new BoardGeometry(4, 4);
+    /** A 25x25 board with 5x5 blocks. */
+    public static final BoardGeometry TWENTY_FIVE = new BoardGeometry(5, 5);
+
+    private final int size;
+    private final int boxRows;
+    private final int boxCols;
+    private final int[] cellRows;
+    private final int[] cellCols;
+    private final int[] cellBoxes;
+    private final int[] unitCells;
+    private final int[] peerStart;
+    private final int[] peers;
+
+    private BoardGeometry(int boxRows, int boxCols) {
+        this(boxRows * boxCols, boxRows, boxCols, blockMap(boxRows, boxCols));
+    }
+
+    private BoardGeometry(int size, int boxRows, int boxCols, int[] cellBoxes) {
+        this.size = size;
+        this.boxRows = boxRows;
+        this.boxCols = boxCols;
+        this.cellBoxes = cellBoxes;
+
+        int cells = size * size;
+        cellRows = new int[cells];
+        cellCols = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            cellRows[cell] = cell / size;
+            cellCols[cell] = cell % size;
+        }
+
+        // Units are laid out as all rows, then all columns, then all blocks
+        unitCells = new int[3 * cells];
+        int[] boxFill = new int[size];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cellRows[cell];
+            int col = cellCols[cell];
+            int box = cellBoxes[cell];
+            unitCells[row * size + col] = cell;
+            unitCells[(size + col) * size + row] = cell;
+            unitCells[(2 * size + box) * size + boxFill[box]++] = cell;
+        }
+
+        // Peers of each cell, in cell order; a jigsaw region may share any number of
+        // cells with a row or column, so the count varies from cell to cell
+        peerStart = new int[cells + 1];
+        int[] found = new int[cells * 3 * (size - 1)];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            peerStart[cell] = count;
+            for (int other = 0; other < cells; other++) {
+                if (other != cell && (cellRows[other] == cellRows[cell] || cellCols[other] == cellCols[cell]
+                        || cellBoxes[other] == cellBoxes[cell])) {
+                    found[count++] = other;
+                }
+            }
+        }
+        peerStart[cells] = count;
+        peers = Arrays.copyOf(found, count);
+    }
+
+    private static int[] blockMap(int boxRows, int boxCols) {
+        if (boxRows < 1 || boxCols < 1 || boxRows * boxCols > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported block size " + boxRows + "x" + boxCols);
+        }
+        int size = boxRows * boxCols;
+        int[] map = new int[size * size];
+        for (int cell = 0; cell < map.length; cell++) {
+            map[cell] = (cell / size / boxRows) * (size / boxCols) + cell % size / boxCols;
+        }
+        return map;
+    }
+
+    /**
+     * Gets the geometry with the given block size.
+     *
+     * @param boxRows the number of rows in each block
+     * @param boxCols the number of columns in each block
+     * @return the matching geometry
+     * @throws IllegalArgumentException if the block size is not supported
+     */
+    public static BoardGeometry of(int boxRows, int boxCols) {
+        for (BoardGeometry known : new BoardGeometry[]{SIX, NINE, TWELVE, SIXTEEN, TWENTY_FIVE}) {
+            if (known.boxRows == boxRows && known.boxCols == boxCols) {
+                return known;
+            }
+        }
+        return new BoardGeometry(boxRows, boxCols);
+    }
+
+    /**
+     * Gets a jigsaw geometry, whose blocks are irregular regions. Regions need not be
+     * connected.
+     *
+     * @param regions the region of every cell, {@code regions[row][col]}, numbered from
+     *        0 to N-1 for a board of side N
+     * @return the matching geometry
+     * @throws IllegalArgumentException if the map is not square, or a region does not
+     *         have exactly N cells
+     */
+    public static BoardGeometry jigsaw(int[][] regions) {
+        int size = regions.length;
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported board size " + size);
+        }
+        int[] map = new int[size * size];
+        int[] regionSizes = new int[size];
+        for (int row = 0; row < size; row++) {
+            if (regions[row].length != size) {
+                throw new IllegalArgumentException("Region map is not square");
+            }
+            for (int col = 0; col < size; col++) {
+                int region = regions[row][col];
+                if (region < 0 || region >= size) {
+                    throw new IllegalArgumentException("Region " + region + " is out of range at " + row + "," + col);
+                }
+                regionSizes[region]++;
+                map[row * size + col] = region;
+            }
+        }
+        for (int region = 0; region < size; region++) {
+            if (regionSizes[region] != size) {
+                throw new IllegalArgumentException("Region " + region + " has " + regionSizes[region] + " cells, not "
+                        + size);
+            }
+        }
+        return new BoardGeometry(size, 0, 0, map);
+    }
+
+    /**
+     * Gets the usual geometry for a board side length (6, 9, 12, 16 or 25).
+     *
+     * @param size the side length of the board
+     * @return the geometry with the customary block size for that side
+     * @throws IllegalArgumentException if there is no customary geometry for the size
+     */
+    public static BoardGeometry ofSize(int size) {
+        switch (size) {
+            case 6:
+                return SIX;
+            case 9:
+                return NINE;
+            case 12:
+                return TWELVE;
+            case 16:
+                return SIXTEEN;
+            case 25:
+                return TWENTY_FIVE;
+            default:
+                throw new IllegalArgumentException("No standard geometry for size " + size);
+        }
+    }
+
+    /**
+     * Gets the side length of the board, which is also the largest digit.
+     *
+     * @return the number of rows (and columns) of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Tells whether the blocks of this board are irregular regions.
+     *
+     * @return true for a jigsaw geometry, false for rectangular blocks
+     */
+    public boolean isJigsaw() {
+        return boxRows == 0;
+    }
+
+    /**
+     * Gets the number of rows in each block.
+     *
+     * @return the block height
+     * @throws IllegalStateException for a jigsaw geometry
+     */
+    public int getBoxRows() {
+        checkRectangular();
+        return boxRows;
+    }
+
+    /**
+     * Gets the number of columns in each block.
+     *
+     * @return the block width
+     * @throws IllegalStateException for a jigsaw geometry
+     */
+    public int getBoxCols() {
+        checkRectangular();
+        return boxCols;
+    }
+
+    private void checkRectangular() {
+        if (isJigsaw()) {
+            throw new IllegalStateException("A jigsaw board has no block size");
+        }
+    }
+
+    /**
+     * Gets the total number of cells on the board.
+     *
+     * @return size * size
+     */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * Gets the index of the block containing a cell: numbered row-major from 0 for
+     * rectangular blocks, or the region of the map for a jigsaw board.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @return the block index
+     */
+    public int getBox(int row, int col) {
+        return cellBoxes[row * size + col];
+    }
+
+    /**
+     * Gets the first row of the block containing a cell.
+     *
+     * @param row the row index of the cell
+     * @return the top row of its block
+     * @throws IllegalStateException for a jigsaw geometry
+     */
+    public int getBoxStartRow(int row) {
+        checkRectangular();
+        return (row / boxRows) * boxRows;
+    }
+
+    /**
+     * Gets the first column of the block containing a cell.
+     *
+     * @param col the column index of the cell
+     * @return the leftmost column of its block
+     * @throws IllegalStateException for a jigsaw geometry
+     */
+    public int getBoxStartCol(int col) {
+        checkRectangular();
+        return (col / boxCols) * boxCols;
+    }
+
+    /**
+     * Gets the digit mask with one bit set for each digit 1 to N.
+     *
+     * @return the mask of all digits
+     */
+    public int getAllDigits() {
+        return (1 << size) - 1;
+    }
+
+    /**
+     * Row of each flat cell index (row * size + col). Shared; must not be modified.
+     */
+    int[] cellRows() {
+        return cellRows;
+    }
+
+    /**
+     * Column of each flat cell index. Shared; must not be modified.
+     */
+    int[] cellCols() {
+        return cellCols;
+    }
+
+    /**
+     * Block of each flat cell index. Shared; must not be modified.
+     */
+    int[] cellBoxes() {
+        return cellBoxes;
+    }
+
+    /**
+     * Cells of every unit, {@code size} entries per unit: rows first, then columns,
+     * then blocks. Shared; must not be modified.
+     */
+    int[] unitCells() {
+        return unitCells;
+    }
+
+    /**
+     * Start of each cell's peers in {@link #peers()}, with one extra entry for the end:
+     * the peers of cell {@code c} are at {@code peerStart()[c]} up to, not including,
+     * {@code peerStart()[c + 1]}. Shared; must not be modified.
+     */
+    int[] peerStart() {
+        return peerStart;
+    }
+
+    /**
+     * The cells sharing a row, column or block with each cell, cell by cell. Shared;
+     * must not be modified.
+     */
+    int[] peers() {
+        return peers;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BoardGeometry)) {
+            return false;
+        }
+        BoardGeometry geometry = (BoardGeometry) other;
+        return size == geometry.size && boxRows == geometry.boxRows && boxCols == geometry.boxCols
+                && (!isJigsaw() || Arrays.equals(cellBoxes, geometry.cellBoxes));
+    }
+
+    @Override
+    public int hashCode() {
+        return isJigsaw() ? Arrays.hashCode(cellBoxes) : boxRows * 31 + boxCols;
+    }
+
+    @Override
+    public String toString() {
+        return isJigsaw() ? size + "x" + size + " jigsaw" : size + "x" + size + " (" + boxRows + "x" + boxCols + " blocks)";
+    }
+}
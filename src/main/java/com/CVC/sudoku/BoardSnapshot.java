@@ -0,0 +1,100 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Immutable copy of a board and its fixed cells, packed with a {@link BoardCodec}.
+ * A 6x6 snapshot is three longs, so taking one costs the same whatever the game state,
+ * and snapshots can be compared and hashed cheaply.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class BoardSnapshot {
+    private final BoardCodec codec;
+    private final long[] words;
+
+    /**
+     * Constructs a snapshot from packed words, which are copied.
+     *
+     * @param codec the codec the words were packed with
+     * @param words the packed board
+     */
+    BoardSnapshot(BoardCodec codec, long[] words) {
+        this.codec = codec;
+        this.words = words.clone();
+    }
+
+    /**
+     * Gets the shape of the board.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return codec.getGeometry();
+    }
+
+    /**
+     * Gets the value of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the cell value (0 for empty)
+     */
+    public int getCellValue(int row, int col) {
+        return codec.getValue(words, 0, row * codec.getGeometry().getSize() + col);
+    }
+
+    /**
+     * Tells whether a cell is fixed.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell is fixed
+     */
+    public boolean isCellFixed(int row, int col) {
+        return codec.isFixed(words, 0, row * codec.getGeometry().getSize() + col);
+    }
+
+    /**
+     * Unpacks the cell values into a new board.
+     *
+     * @return an NxN array with the cell values
+     */
+    public int[][] toBoard() {
+        int size = codec.getGeometry().getSize();
+        int[][] board = new int[size][size];
+        codec.decode(words, 0, board);
+        return board;
+    }
+
+    /**
+     * Copies the packed words out.
+     *
+     * @param dest the array to write to
+     * @param offset the index of the first word to write
+     */
+    public void copyWords(long[] dest, int offset) {
+        System.arraycopy(words, 0, dest, offset, words.length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BoardSnapshot)) {
+            return false;
+        }
+        BoardSnapshot that = (BoardSnapshot) other;
+        return getGeometry().equals(that.getGeometry()) && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,448 @@
+package com.CVC.sudoku;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontPosture;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Sudoku board drawn on a single {@link Canvas}, replacing one text field per cell.
+ *
+ * <p>The view keeps, per cell, the digit shown and how it is drawn (given, valid,
+ * invalid or suggested). Changing a cell or the selection only marks the affected
+ * cells dirty; {@link #flush()} then repaints those cells and nothing else, so the cost
+ * of a keystroke does not depend on the board size. Colors and fonts are created once
+ * per board size instead of through inline CSS.</p>
+ *
+ * <p>Clicking selects a cell, the arrow keys move the selection, and typing a digit
+ * (or a letter from {@code A} for 10 upwards on boards larger than 9x9) enters it;
+ * Backspace, Delete and 0 clear the cell. Entries go to the {@link CellInput} handler,
+ * which decides how the cell is shown.</p>
+ *
+ * <p>Each flush records how long it took to issue its drawing commands, which is not
+ * the frame time: the canvas only queues the commands, and they are rendered on the
+ * next pulse. With the {@code sudoku.frameStats} system property set to {@code true},
+ * an {@link AnimationTimer} also times the pulse that renders each flush, from its
+ * start to the start of the next, and both figures are printed to standard error
+ * every {@value #STATS_INTERVAL} such frames. The timer keeps pulses running, so it is
+ * off otherwise.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class BoardView extends Canvas {
+    /** A cell drawn as a given digit. */
+    public static final int GIVEN = 0;
+    /** A cell drawn as an accepted player entry (or empty). */
+    public static final int VALID = 1;
+    /** A cell drawn as a rejected player entry. */
+    public static final int INVALID = 2;
+    /** A cell drawn as a suggested digit. */
+    public static final int SUGGESTION = 3;
+
+    private static final double BOARD_PIXELS = 432;
+    private static final int STATS_INTERVAL = 100;
+    private static final boolean FRAME_STATS = Boolean.getBoolean("sudoku.frameStats");
+
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color GIVEN_BACKGROUND = Color.web("#f0f0f0");
+    private static final Color SELECTED_BACKGROUND = Color.web("#d6eaf8");
+    private static final Color THIN_LINE = Color.web("#bdc3c7");
+    private static final Color THICK_LINE = Color.web("#34495e");
+    private static final Color[] TEXT_COLORS = {Color.BLACK, Color.GREEN, Color.RED, Color.BLUE};
+
+    /**
+     * Receives the digits entered on the board.
+     */
+    @FunctionalInterface
+    public interface CellInput {
+        /**
+         * Called when the player enters or clears a digit.
+         *
+         * @param row the row index of the cell
+         * @param col the column index of the cell
+         * @param value the digit entered, or 0 to clear
+         */
+        void onInput(int row, int col, int value);
+    }
+
+    private final GraphicsContext graphics;
+    private CellInput input;
+
+    private BoardGeometry geometry;
+    private int size;
+    private double cellSize;
+    private Font[] fonts;
+    private int[] values;
+    private int[] states;
+    private boolean[] dirty;
+    private int[] dirtyCells;
+    private int dirtyCount;
+    private int selected;
+
+    private long flushes;
+    private long paintNanos;
+    private long maxPaintNanos;
+    private long lastPaintNanos;
+
+    private long frames;
+    private long frameNanos;
+    private long maxFrameNanos;
+    private long lastFrameNanos;
+    private long lastPulse;
+    private boolean flushPending;
+    private boolean timingFrame;
+
+    /**
+     * Constructs an empty board view; {@link #showModel(Model)} gives it a board.
+     */
+    public BoardView() {
+        graphics = getGraphicsContext2D();
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+        setFocusTraversable(true);
+        addEventHandler(MouseEvent.MOUSE_PRESSED, this::handleMouse);
+        addEventHandler(KeyEvent.KEY_PRESSED, this::handleKeyPressed);
+        addEventHandler(KeyEvent.KEY_TYPED, this::handleKeyTyped);
+        if (FRAME_STATS) {
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    recordPulse(now);
+                }
+            }.start();
+        }
+    }
+
+    /**
+     * Sets the handler for digits entered on the board.
+     *
+     * @param input the handler
+     */
+    public void setOnCellInput(CellInput input) {
+        this.input = input;
+    }
+
+    /**
+     * Shows every cell of a model and repaints the whole board. The drawing tables are
+     * only rebuilt when the board size changes.
+     *
+     * @param model the model to show
+     */
+    public void showModel(Model model) {
+        if (!model.getGeometry().equals(geometry)) {
+            resize(model.getGeometry());
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                values[cell] = model.getCellValue(row, col);
+                states[cell] = model.isCellFixed(row, col) ? GIVEN : VALID;
+            }
+        }
+        repaintAll();
+    }
+
+    /**
+     * Changes how one cell is shown. The cell is repainted on the next {@link #flush()}.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the digit to show, or 0 for an empty cell
+     * @param state one of {@link #GIVEN}, {@link #VALID}, {@link #INVALID} or {@link #SUGGESTION}
+     */
+    public void setCell(int row, int col, int value, int state) {
+        int cell = row * size + col;
+        if (values[cell] != value || states[cell] != state) {
+            values[cell] = value;
+            states[cell] = state;
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Gets the digit shown in a cell, which may be a rejected entry.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the digit shown, or 0
+     */
+    public int getShownValue(int row, int col) {
+        return values[row * size + col];
+    }
+
+    /**
+     * Moves the selection to a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    public void select(int row, int col) {
+        int cell = row * size + col;
+        if (cell != selected) {
+            markDirty(selected);
+            selected = cell;
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Repaints the cells changed since the last flush.
+     */
+    public void flush() {
+        if (dirtyCount == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            dirty[cell] = false;
+            paintCell(cell);
+        }
+        dirtyCount = 0;
+        recordPaint(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the time the last flush spent issuing drawing commands.
+     *
+     * @return the paint time in nanoseconds
+     */
+    public long getLastPaintNanos() {
+        return lastPaintNanos;
+    }
+
+    /**
+     * Gets the average time a flush spent issuing drawing commands.
+     *
+     * @return the mean paint time in nanoseconds, or 0 before the first flush
+     */
+    public long getAveragePaintNanos() {
+        return flushes == 0 ? 0 : paintNanos / flushes;
+    }
+
+    /**
+     * Gets the longest time a flush spent issuing drawing commands.
+     *
+     * @return the maximum paint time in nanoseconds
+     */
+    public long getMaxPaintNanos() {
+        return maxPaintNanos;
+    }
+
+    /**
+     * Gets the length of the last frame that rendered a flush, from the start of its
+     * pulse to the start of the next. Frames are only timed with
+     * {@code sudoku.frameStats} set.
+     *
+     * @return the frame time in nanoseconds, or 0 if no frame was timed
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Gets the average length of the frames that rendered a flush.
+     *
+     * @return the mean frame time in nanoseconds, or 0 if no frame was timed
+     */
+    public long getAverageFrameNanos() {
+        return frames == 0 ? 0 : frameNanos / frames;
+    }
+
+    /**
+     * Gets the longest frame that rendered a flush.
+     *
+     * @return the maximum frame time in nanoseconds
+     */
+    public long getMaxFrameNanos() {
+        return maxFrameNanos;
+    }
+
+    private void resize(BoardGeometry newGeometry) {
+        geometry = newGeometry;
+        size = geometry.getSize();
+        cellSize = Math.floor(BOARD_PIXELS / size);
+        setWidth(cellSize * size);
+        setHeight(cellSize * size);
+        double fontSize = Math.max(9, Math.round(cellSize * 0.55));
+        fonts = new Font[] {
+                Font.font("System", FontWeight.BOLD, fontSize),
+                Font.font("System", FontWeight.NORMAL, fontSize),
+                Font.font("System", FontWeight.NORMAL, fontSize),
+                Font.font("System", FontWeight.NORMAL, FontPosture.ITALIC, fontSize)
+        };
+        int cells = geometry.getCellCount();
+        values = new int[cells];
+        states = new int[cells];
+        dirty = new boolean[cells];
+        dirtyCells = new int[cells];
+        dirtyCount = 0;
+        selected = 0;
+    }
+
+    private void repaintAll() {
+        long start = System.nanoTime();
+        for (int cell = 0; cell < size * size; cell++) {
+            dirty[cell] = false;
+            paintCell(cell);
+        }
+        dirtyCount = 0;
+        recordPaint(System.nanoTime() - start);
+    }
+
+    private void markDirty(int cell) {
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+
+    /**
+     * Draws one cell: background, digit, and its four edges, thick on block borders.
+     */
+    private void paintCell(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        double x = col * cellSize;
+        double y = row * cellSize;
+        int state = states[cell];
+
+        graphics.setFill(cell == selected ? SELECTED_BACKGROUND : state == GIVEN ? GIVEN_BACKGROUND : BACKGROUND);
+        graphics.fillRect(x, y, cellSize, cellSize);
+        if (values[cell] != 0) {
+            graphics.setFill(TEXT_COLORS[state]);
+            graphics.setFont(fonts[state]);
+            graphics.fillText(symbol(values[cell]), x + cellSize / 2, y + cellSize / 2);
+        }
+
+        int box = geometry.getBox(row, col);
+        boolean top = row == 0 || geometry.getBox(row - 1, col) != box;
+        boolean bottom = row == size - 1 || geometry.getBox(row + 1, col) != box;
+        boolean left = col == 0 || geometry.getBox(row, col - 1) != box;
+        boolean right = col == size - 1 || geometry.getBox(row, col + 1) != box;
+        double end = cellSize - 0.5;
+        strokeEdge(x + 0.5, y + 0.5, x + end, y + 0.5, top);
+        strokeEdge(x + 0.5, y + end, x + end, y + end, bottom);
+        strokeEdge(x + 0.5, y + 0.5, x + 0.5, y + end, left);
+        strokeEdge(x + end, y + 0.5, x + end, y + end, right);
+    }
+
+    private void strokeEdge(double x1, double y1, double x2, double y2, boolean thick) {
+        graphics.setStroke(thick ? THICK_LINE : THIN_LINE);
+        graphics.setLineWidth(thick ? 1.5 : 0.5);
+        graphics.strokeLine(x1, y1, x2, y2);
+    }
+
+    private static String symbol(int value) {
+        return value < 10 ? String.valueOf(value) : String.valueOf((char) ('A' + value - 10));
+    }
+
+    private void recordPaint(long nanos) {
+        lastPaintNanos = nanos;
+        paintNanos += nanos;
+        maxPaintNanos = Math.max(maxPaintNanos, nanos);
+        flushes++;
+        flushPending = true;
+    }
+
+    /**
+     * Times the frames that render a flush. Commands issued between two pulses are
+     * rendered by the second, so its frame ends when the pulse after it starts.
+     */
+    private void recordPulse(long now) {
+        if (timingFrame) {
+            long nanos = now - lastPulse;
+            lastFrameNanos = nanos;
+            frameNanos += nanos;
+            maxFrameNanos = Math.max(maxFrameNanos, nanos);
+            frames++;
+            timingFrame = false;
+            if (frames % STATS_INTERVAL == 0) {
+                System.err.println(String.format("Board frames: last %d us, average %d us, max %d us over %d frames;"
+                        + " paint average %d us, max %d us over %d flushes", lastFrameNanos / 1000,
+                        getAverageFrameNanos() / 1000, maxFrameNanos / 1000, frames,
+                        getAveragePaintNanos() / 1000, maxPaintNanos / 1000, flushes));
+            }
+        }
+        if (flushPending) {
+            flushPending = false;
+            timingFrame = true;
+        }
+        lastPulse = now;
+    }
+
+    private void handleMouse(MouseEvent event) {
+        if (geometry == null) {
+            return;
+        }
+        requestFocus();
+        int col = (int) (event.getX() / cellSize);
+        int row = (int) (event.getY() / cellSize);
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            select(row, col);
+            flush();
+        }
+    }
+
+    private void handleKeyPressed(KeyEvent event) {
+        if (geometry == null || event.isShortcutDown()) {
+            return;
+        }
+        int row = selected / size;
+        int col = selected % size;
+        KeyCode code = event.getCode();
+        if (code == KeyCode.UP) {
+            select((row + size - 1) % size, col);
+        } else if (code == KeyCode.DOWN) {
+            select((row + 1) % size, col);
+        } else if (code == KeyCode.LEFT) {
+            select(row, (col + size - 1) % size);
+        } else if (code == KeyCode.RIGHT) {
+            select(row, (col + 1) % size);
+        } else if (code == KeyCode.BACK_SPACE || code == KeyCode.DELETE) {
+            enter(0);
+        } else {
+            return;
+        }
+        event.consume();
+        flush();
+    }
+
+    private void handleKeyTyped(KeyEvent event) {
+        if (geometry == null || event.isShortcutDown() || event.getCharacter().isEmpty()) {
+            return;
+        }
+        char c = Character.toUpperCase(event.getCharacter().charAt(0));
+        int value;
+        if (c >= '0' && c <= '9') {
+            value = c - '0';
+        } else if (c >= 'A' && c <= 'Z') {
+            value = c - 'A' + 10;
+        } else {
+            return;
+        }
+        if (value <= size) {
+            enter(value);
+        }
+        event.consume();
+        flush();
+    }
+
+    private void enter(int value) {
+        if (input != null && states[selected] != GIVEN) {
+            input.onInput(selected / size, selected % size, value);
+        }
+    }
+}
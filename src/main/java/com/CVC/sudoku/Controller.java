@@ -2,8 +2,15 @@ package com.CVC.sudoku;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import javafx.scene.control.TextField;
-import javafx.scene.layout.GridPane;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.StackPane;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller class for the Sudoku game interface.
@@ -18,180 +25,281 @@ import javafx.scene.layout.GridPane;
  */
 public class Controller {
     @FXML
-    private GridPane sudokuGrid;
+    private StackPane boardPane;
 
     @FXML
     private Label messageLabel;
 
     private Model model;
-    private TextField[][] textFields;
-    private Solver solver;
+    private final BoardView boardView = new BoardView();
+    private PuzzlePool puzzlePool;
+    private PuzzleDatabase database;
+    private final Random random = new Random();
+    private HintProvider hints;
+    private GameJournal journal;
+    private final ExecutorService hintExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hint-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Initializes the controller after the FXML fields have been injected.
-     * Sets up the game model, solver, and initializes the game board.
+     * Sets up the game model and initializes the game board.
      */
     @FXML
     public void initialize() {
-        model = new Model();
-        solver = new Solver();
-        textFields = new TextField[6][6];
-        initializeBoard();
-        messageLabel.setText("Welcome to Sudoku 6x6! Enter numbers from 1 to 6.");
+        puzzlePool = new PuzzlePool(8);
+        puzzlePool.start();
+        openDatabase();
+        boardView.setOnCellInput(this::handleUserInput);
+        boardPane.getChildren().setAll(boardView);
+        boardPane.addEventFilter(KeyEvent.KEY_PRESSED, this::handleShortcut);
+        Model saved = loadSavedGame();
+        startGame(saved != null ? saved : new Model(nextPuzzle(Difficulty.MEDIUM)));
+        int size = model.getSize();
+        messageLabel.setText(saved != null ? "Welcome back! Your last game has been restored."
+                : "Welcome to Sudoku " + size + "x" + size + "! Enter numbers from 1 to " + size + ".");
     }
 
     /**
-     * Initializes the game board UI by creating and configuring text fields
-     * for each cell in the 6x6 grid.
+     * Writes out the moves not yet saved. Called when the application closes.
      */
-    private void initializeBoard() {
-        sudokuGrid.getChildren().clear();
-
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
-                TextField textField = createTextField(row, col);
-                sudokuGrid.add(textField, col, row);
-                textFields[row][col] = textField;
+    public void shutdown() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Could not save the game: " + e.getMessage());
             }
         }
     }
 
     /**
-     * Creates and configures a text field for a specific cell in the Sudoku grid.
+     * Loads the game saved by the {@link GameJournal}, if there is an unfinished one.
      *
-     * @param row the row index of the cell (0-5)
-     * @param col the column index of the cell (0-5)
-     * @return the configured TextField ready for user input
+     * @return the saved game, or null to start a new one
      */
-    private TextField createTextField(int row, int col) {
-        TextField field = new TextField();
-        field.setPrefSize(50, 50);
-        field.setStyle("-fx-font-size: 18; -fx-alignment: center;");
-
-        int value = model.getCellValue(row, col);
-        if (value != 0) {
-            field.setText(String.valueOf(value));
-            if (model.isCellFixed(row, col)) {
-                field.setStyle("-fx-font-size: 18; -fx-alignment: center; -fx-background-color: #f0f0f0; -fx-font-weight: bold;");
-                field.setEditable(false);
+    private Model loadSavedGame() {
+        try {
+            Model saved = GameJournal.load(GameJournal.defaultDirectory());
+            if (saved == null || saved.isCompleteAndCorrect()
+                    || !saved.getGeometry().equals(puzzlePool.getGeometry())) {
+                return null;
             }
+            return saved;
+        } catch (IOException e) {
+            return null;
         }
+    }
 
-        final int currentRow = row;
-        final int currentCol = col;
+    /**
+     * Opens the puzzle database named by the {@code sudoku.database} system property,
+     * if any. Without a usable database, puzzles come from the pool alone.
+     */
+    private void openDatabase() {
+        String path = System.getProperty(PuzzleDatabase.PROPERTY);
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        try {
+            database = PuzzleDatabase.open(Paths.get(path));
+            if (!database.getGeometry().equals(puzzlePool.getGeometry())) {
+                database.close();
+                database = null;
+            }
+        } catch (IOException e) {
+            database = null;
+        }
+    }
 
-        field.textProperty().addListener((observable, oldValue, newValue) -> {
-            handleUserInput(currentRow, currentCol, newValue);
-        });
+    /**
+     * Gets a puzzle for a new game: a random one from the database when it has that
+     * difficulty, otherwise one from the pool.
+     *
+     * @param difficulty the difficulty level
+     * @return a puzzle with a unique solution
+     */
+    private Puzzle nextPuzzle(Difficulty difficulty) {
+        if (database != null && database.getCount(difficulty) > 0) {
+            return database.random(difficulty, random);
+        }
+        return puzzlePool.take(difficulty);
+    }
 
-        return field;
+    /**
+     * Starts a game: starts solving its puzzle for hints and saving its moves in the
+     * background, and shows the board with the keyboard focus on it.
+     *
+     * @param game the game to play
+     */
+    private void startGame(Model game) {
+        if (hints != null) {
+            hints.cancel();
+        }
+        model = game;
+        int size = model.getSize();
+        int[][] givens = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (model.isCellFixed(row, col)) {
+                    givens[row][col] = model.getCellValue(row, col);
+                }
+            }
+        }
+        hints = new HintProvider(model.getGeometry(), givens, hintExecutor);
+        if (journal == null) {
+            journal = new GameJournal(GameJournal.defaultDirectory(), model);
+        } else {
+            journal.startGame(model);
+        }
+        boardView.showModel(model);
+        boardView.requestFocus();
     }
 
     /**
-     * Handles user input in a specific cell, validating the input and updating the model.
+     * Handles a digit entered on the board, validating it and updating the model.
      *
      * @param row the row index of the cell being edited
      * @param col the column index of the cell being edited
-     * @param input the text input from the user
+     * @param value the digit entered, or 0 if the cell was cleared
      */
-    private void handleUserInput(int row, int col, String input) {
+    private void handleUserInput(int row, int col, int value) {
         if (model.isCellFixed(row, col)) {
             return; // Prevent editing fixed cells
         }
 
-        if (input.isEmpty()) {
+        if (value == 0) {
             // Cell cleared
             model.setCellValue(row, col, 0);
-            updateCellStyle(row, col, "normal");
+            boardView.setCell(row, col, 0, BoardView.VALID);
+        } else if (model.setCellValue(row, col, value)) {
+            // Valid move
+            boardView.setCell(row, col, value, BoardView.VALID);
+            messageLabel.setText("");
+
+            // Check if game is complete
+            if (model.isCompleteAndCorrect()) {
+                messageLabel.setText("Congratulations! You have completed the Sudoku correctly!");
+            }
         } else {
-            try {
-                int value = Integer.parseInt(input);
-                if (value >= 1 && value <= 6) {
-                    if (model.setCellValue(row, col, value)) {
-                        // Valid move
-                        updateCellStyle(row, col, "valid");
-                        messageLabel.setText("");
-
-                        // Check if game is complete
-                        if (model.isCompleteAndCorrect()) {
-                            messageLabel.setText("Congratulations! You have completed the Sudoku correctly!");
-                        }
-                    } else {
-                        // Invalid move
-                        updateCellStyle(row, col, "invalid");
-                        messageLabel.setText("Invalid number. Check row, column and block.");
-                    }
-                } else {
-                    // Number out of range
-                    textFields[row][col].setText("");
-                    messageLabel.setText("Only numbers from 1 to 6 are allowed.");
-                }
-            } catch (NumberFormatException e) {
-                // Non-numeric input
-                textFields[row][col].setText("");
-                messageLabel.setText("Only numbers are allowed.");
+            // Invalid move: shown in red, but the model keeps the previous value
+            boardView.setCell(row, col, value, BoardView.INVALID);
+            messageLabel.setText("Invalid number. Check row, column and block.");
+        }
+    }
+
+    /**
+     * Provides help to the user from the solution of the puzzle, which is worked out in
+     * the background when the game starts. A wrong entry is cleared first; otherwise
+     * the next logical step (or the most constrained cell) is filled in.
+     */
+    @FXML
+    private void handleHelp() {
+        if (!hints.isReady()) {
+            messageLabel.setText("Still working out the solution. Try again in a moment.");
+            return;
+        }
+        if (!hints.isSolvable()) {
+            messageLabel.setText("This puzzle has no solution.");
+            return;
+        }
+        Hint hint = hints.next(model);
+        if (hint == null) {
+            messageLabel.setText("No empty cells to suggest! The board might be complete.");
+            return;
+        }
+        int row = hint.getRow();
+        int col = hint.getCol();
+        String cell = "row " + (row + 1) + ", column " + (col + 1);
+        if (hint.isCorrection()) {
+            model.setCellValue(row, col, 0);
+            boardView.setCell(row, col, 0, BoardView.VALID);
+            messageLabel.setText("The number at " + cell + " does not match the solution. It has been cleared.");
+        } else if (model.setCellValue(row, col, hint.getValue())) {
+            boardView.setCell(row, col, hint.getValue(), BoardView.SUGGESTION);
+            messageLabel.setText(hint.getTechnique() == null
+                    ? "Suggestion applied at " + cell + "."
+                    : "Suggestion applied at " + cell + " (" + describe(hint.getTechnique()) + ").");
+            if (model.isCompleteAndCorrect()) {
+                messageLabel.setText("Congratulations! You have completed the Sudoku correctly!");
             }
+        } else {
+            messageLabel.setText("Cannot find a valid suggestion for this cell.");
         }
+        boardView.select(row, col);
+        boardView.flush();
+    }
+
+    private static String describe(Technique technique) {
+        return technique == Technique.NAKED_SINGLE ? "the only number left for that cell"
+                : "the only cell left for that number";
     }
 
     /**
-     * Updates the visual style of a cell based on its state.
+     * Handles the undo (Ctrl+Z) and redo (Ctrl+Y or Ctrl+Shift+Z) shortcuts before the
+     * board view sees them.
      *
-     * @param row the row index of the cell
-     * @param col the column index of the cell
-     * @param type the type of styling to apply ("valid", "invalid", "suggestion", or "normal")
+     * @param event the key event
      */
-    private void updateCellStyle(int row, int col, String type) {
-        String baseStyle = "-fx-font-size: 18; -fx-alignment: center;";
+    private void handleShortcut(KeyEvent event) {
+        if (!event.isShortcutDown()) {
+            return;
+        }
+        if (event.getCode() == KeyCode.Z && !event.isShiftDown()) {
+            handleUndo();
+            event.consume();
+        } else if (event.getCode() == KeyCode.Y || event.getCode() == KeyCode.Z) {
+            handleRedo();
+            event.consume();
+        }
+    }
 
-        switch (type) {
-            case "valid":
-                textFields[row][col].setStyle(baseStyle + " -fx-text-fill: green;");
-                break;
-            case "invalid":
-                textFields[row][col].setStyle(baseStyle + " -fx-text-fill: red;");
-                break;
-            case "suggestion":
-                textFields[row][col].setStyle(baseStyle + " -fx-text-fill: blue; -fx-font-style: italic;");
-                break;
-            default:
-                textFields[row][col].setStyle(baseStyle);
-                break;
+    /**
+     * Reverts the last move.
+     */
+    @FXML
+    private void handleUndo() {
+        int cell = model.undo();
+        if (cell < 0) {
+            messageLabel.setText("Nothing to undo.");
+            return;
         }
+        refreshCell(cell / model.getSize(), cell % model.getSize());
+        messageLabel.setText("");
     }
 
     /**
-     * Provides help to the user by suggesting a valid number for an empty cell.
-     * Finds the first empty cell and fills it with a valid suggestion.
+     * Makes the last undone move again.
      */
     @FXML
-    private void handleHelp() {
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
-                if (model.getCellValue(row, col) == 0 && !model.isCellFixed(row, col)) {
-                    int suggestion = model.getHelp(row, col);
-                    if (suggestion != 0) {
-                        model.setCellValue(row, col, suggestion);
-                        textFields[row][col].setText(String.valueOf(suggestion));
-                        updateCellStyle(row, col, "suggestion");
-                        messageLabel.setText("Suggestion applied at row " + (row + 1) + ", column " + (col + 1));
-                    } else {
-                        messageLabel.setText("Cannot find a valid suggestion for this cell.");
-                    }
-                    return;
-                }
-            }
+    private void handleRedo() {
+        int cell = model.redo();
+        if (cell < 0) {
+            messageLabel.setText("Nothing to redo.");
+            return;
         }
-        messageLabel.setText("No empty cells to suggest! The board might be complete.");
+        refreshCell(cell / model.getSize(), cell % model.getSize());
+        messageLabel.setText("");
+    }
+
+    /**
+     * Shows the model's value of a cell on the board view.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     */
+    private void refreshCell(int row, int col) {
+        boardView.setCell(row, col, model.getCellValue(row, col), BoardView.VALID);
+        boardView.flush();
     }
 
     /**
-     * Starts a new game by resetting the model and reinitializing the board.
+     * Starts a new game with a fresh puzzle and reinitializes the board.
      */
     @FXML
     private void handleNewGame() {
-        model = new Model();
-        initializeBoard();
+        startGame(new Model(nextPuzzle(Difficulty.MEDIUM)));
         messageLabel.setText("New game started. Good luck!");
     }
 
@@ -218,14 +326,14 @@ public class Controller {
     @FXML
     private void handleReset() {
         model.resetBoard();
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
+        for (int row = 0; row < model.getSize(); row++) {
+            for (int col = 0; col < model.getSize(); col++) {
                 if (!model.isCellFixed(row, col)) {
-                    textFields[row][col].setText("");
-                    updateCellStyle(row, col, "normal");
+                    boardView.setCell(row, col, 0, BoardView.VALID);
                 }
             }
         }
+        boardView.flush();
         messageLabel.setText("Board reset. Fixed cells are preserved.");
     }
 }
\ No newline at end of file
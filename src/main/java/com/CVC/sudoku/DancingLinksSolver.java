@@ -0,0 +1,360 @@
+package com.CVC.sudoku;
+
+import java.util.function.Consumer;
+
+/**
+ * Sudoku solver based on Knuth's Algorithm X over a Dancing Links exact-cover matrix.
+ *
+ * <p>Each candidate placement (cell, digit) is a matrix row covering four columns:
+ * the cell, the digit in its row, the digit in its column and the digit in its block.
+ * The whole matrix is built once per solver in flat int arrays (the node arena).
+ * A solve covers the rows of the given digits, searches iteratively with an explicit
+ * stack, and then uncovers everything again, so the arena is reused across puzzles
+ * without reallocation. A solver instance is therefore not thread-safe.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class DancingLinksSolver implements SudokuSolver {
+    private static final int ROOT = 0;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+
+    // Node arena: index 0 is the root, then one header per column, then four nodes
+    // per candidate row. rowStart[candidate] is the first node of that row.
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] candidate;
+    private final int[] columnSize;
+    private final int[] rowStart;
+
+    // Search state, preallocated: chosen[k] is the row node picked at depth k
+    private final int[] chosen;
+    private final int[] givens;
+    private final int[] solution;
+    private final int[] unitMask;
+
+    private long nodeCount;
+
+    /**
+     * Constructs a Dancing Links solver for the classic 6x6 board.
+     */
+    public DancingLinksSolver() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a Dancing Links solver and builds its exact-cover matrix.
+     *
+     * @param geometry the shape of the boards this solver works on
+     */
+    public DancingLinksSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.rowOf = geometry.cellRows();
+        this.colOf = geometry.cellCols();
+        this.boxOf = geometry.cellBoxes();
+
+        int columns = 4 * cells;
+        int candidates = cells * size;
+        int nodes = 1 + columns + 4 * candidates;
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        candidate = new int[nodes];
+        columnSize = new int[columns + 1];
+        rowStart = new int[candidates];
+
+        chosen = new int[cells];
+        givens = new int[cells];
+        solution = new int[cells];
+        unitMask = new int[3 * size];
+
+        buildMatrix(columns, candidates);
+    }
+
+    /**
+     * Links the root, the column headers and every candidate row into the arena.
+     *
+     * @param columns the number of constraint columns
+     * @param candidates the number of candidate rows
+     */
+    private void buildMatrix(int columns, int candidates) {
+        for (int c = 0; c <= columns; c++) {
+            left[c] = c == 0 ? columns : c - 1;
+            right[c] = c == columns ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int next = columns + 1;
+        for (int id = 0; id < candidates; id++) {
+            int cell = id / size;
+            int digit = id % size;
+            int[] covered = {
+                    1 + cell,
+                    1 + cells + rowOf[cell] * size + digit,
+                    1 + 2 * cells + colOf[cell] * size + digit,
+                    1 + 3 * cells + boxOf[cell] * size + digit
+            };
+
+            int first = next;
+            rowStart[id] = first;
+            for (int k = 0; k < 4; k++) {
+                int node = next++;
+                int c = covered[k];
+                column[node] = c;
+                candidate[node] = id;
+                // Append at the bottom of the column
+                up[node] = up[c];
+                down[node] = c;
+                down[up[c]] = node;
+                up[c] = node;
+                columnSize[c]++;
+                // Link into the row ring
+                left[node] = k == 0 ? node + 3 : node - 1;
+                right[node] = k == 3 ? first : node + 1;
+            }
+        }
+    }
+
+    @Override
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        if (run(board, 1, null) == 0) {
+            return false;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            board[rowOf[cell]][colOf[cell]] = solution[cell];
+        }
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return run(board, limit, null);
+    }
+
+    @Override
+    public int findSolutions(int[][] board, int limit, Consumer<int[][]> action) {
+        return run(board, limit, action);
+    }
+
+    @Override
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Covers the given digits, runs the search, and restores the matrix afterwards.
+     * The first solution found is left in {@code solution}.
+     *
+     * @param board the board to examine
+     * @param limit the number of solutions after which the search stops
+     * @param action receives a new board for each solution, or null
+     * @return the number of solutions found, at most {@code limit}
+     * @throws IllegalArgumentException if a cell holds a value outside {@code 0..size}
+     */
+    private int run(int[][] board, int limit, Consumer<int[][]> action) {
+        int givenCount = 0;
+        for (int i = 0; i < unitMask.length; i++) {
+            unitMask[i] = 0;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board[rowOf[cell]][colOf[cell]];
+            solution[cell] = value;
+            if (value == 0) {
+                continue;
+            }
+            if (value < 0 || value > size) {
+                // It would index another cell's matrix rows
+                throw new IllegalArgumentException("Cell value " + value + " out of range");
+            }
+            // A repeated given would cover an already covered column, so reject it first
+            int bit = 1 << (value - 1);
+            int row = rowOf[cell];
+            int col = size + colOf[cell];
+            int box = 2 * size + boxOf[cell];
+            if (((unitMask[row] | unitMask[col] | unitMask[box]) & bit) != 0) {
+                return 0;
+            }
+            unitMask[row] |= bit;
+            unitMask[col] |= bit;
+            unitMask[box] |= bit;
+            givens[givenCount++] = rowStart[cell * size + value - 1];
+        }
+
+        for (int i = 0; i < givenCount; i++) {
+            selectRow(givens[i]);
+        }
+        int found = search(limit, action);
+        for (int i = givenCount - 1; i >= 0; i--) {
+            deselectRow(givens[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Runs Algorithm X iteratively over the uncovered part of the matrix.
+     * Always returns with the matrix in the state it was entered with.
+     *
+     * @param limit the number of solutions after which the search stops
+     * @param action receives a new board for each solution, or null
+     * @return the number of solutions found, at most {@code limit}
+     */
+    private int search(int limit, Consumer<int[][]> action) {
+        int solutions = 0;
+        int depth = 0;
+        boolean descending = true;
+
+        while (true) {
+            int node;
+            if (descending) {
+                if (right[ROOT] == ROOT) {
+                    solutions++;
+                    if (solutions == 1 || action != null) {
+                        recordSolution(depth, action);
+                    }
+                    if (solutions >= limit) {
+                        // Unwind the remaining choices so the matrix is restored
+                        while (depth > 0) {
+                            deselectRow(chosen[--depth]);
+                        }
+                        return solutions;
+                    }
+                    if (depth == 0) {
+                        return solutions;
+                    }
+                    node = chosen[--depth];
+                    deselectOthers(node);
+                    node = down[node];
+                } else {
+                    int c = chooseColumn();
+                    cover(c);
+                    node = down[c];
+                }
+            } else {
+                node = chosen[depth];
+                deselectOthers(node);
+                node = down[node];
+            }
+
+            // node is the next row to try in the column being branched on at this depth
+            if (node == column[node]) {
+                uncover(node);
+                if (depth == 0) {
+                    return solutions;
+                }
+                depth--;
+                descending = false;
+                continue;
+            }
+
+            chosen[depth++] = node;
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+            nodeCount++;
+            descending = true;
+        }
+    }
+
+    /**
+     * Picks the uncovered column with the fewest remaining rows.
+     *
+     * @return the column header index
+     */
+    private int chooseColumn() {
+        int best = right[ROOT];
+        int bestSize = columnSize[best];
+        for (int c = right[best]; c != ROOT && bestSize > 1; c = right[c]) {
+            if (columnSize[c] < bestSize) {
+                best = c;
+                bestSize = columnSize[c];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes the current partial selection into {@code solution} and, when an action
+     * is given, hands it a copy as a new board.
+     *
+     * @param depth the number of rows chosen by the search
+     * @param action receives the solution board, or null
+     */
+    private void recordSolution(int depth, Consumer<int[][]> action) {
+        for (int k = 0; k < depth; k++) {
+            int id = candidate[chosen[k]];
+            solution[id / size] = id % size + 1;
+        }
+        if (action != null) {
+            int[][] result = new int[size][size];
+            for (int cell = 0; cell < cells; cell++) {
+                result[rowOf[cell]][colOf[cell]] = solution[cell];
+            }
+            action.accept(result);
+        }
+    }
+
+    private void selectRow(int node) {
+        cover(column[node]);
+        for (int j = right[node]; j != node; j = right[j]) {
+            cover(column[j]);
+        }
+    }
+
+    private void deselectRow(int node) {
+        deselectOthers(node);
+        uncover(column[node]);
+    }
+
+    private void deselectOthers(int node) {
+        for (int j = left[node]; j != node; j = left[j]) {
+            uncover(column[j]);
+        }
+    }
+
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
@@ -0,0 +1,51 @@
+package com.CVC.sudoku;
+
+/**
+ * Difficulty levels for generated puzzles.
+ * Each level keeps a share of the board's cells as clues; fewer clues make a harder puzzle.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public enum Difficulty {
+    EASY(0.50),
+    MEDIUM(0.40),
+    HARD(0.28);
+
+    private final double clueRatio;
+
+    Difficulty(double clueRatio) {
+        this.clueRatio = clueRatio;
+    }
+
+    /**
+     * Gets the number of clues a puzzle of this difficulty aims for.
+     *
+     * @param geometry the shape of the board
+     * @return the target clue count
+     */
+    public int getTargetClues(BoardGeometry geometry) {
+        return (int) Math.round(geometry.getCellCount() * clueRatio);
+    }
+
+    /**
+     * Finds the difficulty whose target clue count is closest to a puzzle's clue count.
+     *
+     * @param geometry the shape of the board
+     * @param clueCount the number of clues of the puzzle
+     * @return the matching difficulty, the easier one on a tie
+     */
+    public static Difficulty forClues(BoardGeometry geometry, int clueCount) {
+        Difficulty best = EASY;
+        for (Difficulty difficulty : values()) {
+            if (Math.abs(difficulty.getTargetClues(geometry) - clueCount)
+                    < Math.abs(best.getTargetClues(geometry) - clueCount)) {
+                best = difficulty;
+            }
+        }
+        return best;
+    }
+}
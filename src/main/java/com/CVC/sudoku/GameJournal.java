@@ -0,0 +1,471 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe persistence of the game in progress: a compact binary snapshot of the
+ * board plus an append-only journal of the moves made since.
+ *
+ * <p>The snapshot ({@value #SNAPSHOT_FILE}) holds the {@link BoardCodec} words of the
+ * board and its fixed cells (three longs for 6x6) behind a small header, with a CRC32
+ * at the end. The journal ({@value #JOURNAL_FILE}) is a header followed by one
+ * little-endian int per cell change, packed as by {@link MoveHistory#move(int, int, int)}.
+ * Both carry a generation number, and a journal only applies to the snapshot of the
+ * same generation. Loading replays the journal onto the snapshot's words and stops at
+ * the first change that does not fit the board, such as a write cut short by a crash.</p>
+ *
+ * <p>{@link #record(int)} only copies the change into a buffer, so the caller (the FX
+ * thread) never waits on the disk. A background thread appends the buffered changes
+ * with a {@link FileChannel} and forces them to disk at most every
+ * {@value #SYNC_INTERVAL_MS} ms, which bounds what a crash can lose. After
+ * {@value #COMPACT_RECORDS} changes, or when a new game starts, it writes a new snapshot
+ * to a temporary file, moves it into place, and starts an empty journal of the next
+ * generation. The move history for undo is not saved. Jigsaw boards are not supported:
+ * the snapshot header only records the block shape.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class GameJournal implements AutoCloseable {
+    /** System property naming the directory games are saved in. */
+    public static final String PROPERTY = "sudoku.saveDir";
+    /** Name of the snapshot file. */
+    public static final String SNAPSHOT_FILE = "game.snapshot";
+    /** Name of the journal file. */
+    public static final String JOURNAL_FILE = "game.journal";
+
+    private static final int SNAPSHOT_MAGIC = 0x53444B53;
+    private static final int JOURNAL_MAGIC = 0x4A444B53;
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_HEADER = 28;
+    private static final int JOURNAL_HEADER = 16;
+    private static final long SYNC_INTERVAL_MS = 100;
+    private static final int COMPACT_RECORDS = 4096;
+
+    private final Path directory;
+    private final Object lock = new Object();
+    private final Thread writer;
+
+    // Guarded by lock: changes not yet written, a pending new game, and the state flags
+    private int[] pending = new int[256];
+    private int pendingCount;
+    private long[] nextGame;
+    private BoardCodec nextCodec;
+    private boolean closing;
+    private boolean syncRequested;
+    private long accepted;
+    private long durable;
+    private IOException failure;
+
+    // Owned by the writer thread
+    private int[] batch = new int[256];
+    private BoardCodec codec;
+    private long[] shadow;
+    private long generation;
+    private FileChannel journal;
+    private int journalRecords;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(4096).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Starts journaling a game into a directory. The first snapshot is written in the
+     * background.
+     *
+     * @param directory the save directory, created if needed
+     * @param model the game to save; its changes are recorded from now on
+     * @throws IllegalArgumentException if the game is played on a jigsaw board
+     */
+    public GameJournal(Path directory, Model model) {
+        this.directory = directory;
+        startGame(model);
+        writer = new Thread(this::writeLoop, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Gets the save directory named by the {@code sudoku.saveDir} system property, or
+     * {@code .sudoku} in the user's home directory.
+     *
+     * @return the save directory
+     */
+    public static Path defaultDirectory() {
+        String path = System.getProperty(PROPERTY);
+        if (path != null && !path.isBlank()) {
+            return Paths.get(path);
+        }
+        return Paths.get(System.getProperty("user.home"), ".sudoku");
+    }
+
+    /**
+     * Loads the saved game from a directory: the snapshot with the journal replayed onto it.
+     *
+     * @param directory the save directory
+     * @return the saved game, or null if there is none
+     * @throws IOException if the snapshot cannot be read or is corrupt
+     */
+    public static Model load(Path directory) throws IOException {
+        ByteBuffer snapshot;
+        try {
+            snapshot = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(SNAPSHOT_FILE)))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (snapshot.remaining() < SNAPSHOT_HEADER + Integer.BYTES || snapshot.getInt(0) != SNAPSHOT_MAGIC
+                || snapshot.getInt(4) != VERSION) {
+            throw new IOException("Not a saved game: " + directory.resolve(SNAPSHOT_FILE));
+        }
+        int end = snapshot.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.duplicate().limit(end));
+        if ((int) crc.getValue() != snapshot.getInt(end)) {
+            throw new IOException("Saved game is corrupt: " + directory.resolve(SNAPSHOT_FILE));
+        }
+        long generation = snapshot.getLong(8);
+        BoardCodec codec = new BoardCodec(BoardGeometry.of(snapshot.getInt(16), snapshot.getInt(20)));
+        int words = snapshot.getInt(24);
+        if (words != codec.getWords() || SNAPSHOT_HEADER + words * Long.BYTES != end) {
+            throw new IOException("Saved game is corrupt: " + directory.resolve(SNAPSHOT_FILE));
+        }
+        long[] board = new long[words];
+        for (int i = 0; i < words; i++) {
+            board[i] = snapshot.getLong(SNAPSHOT_HEADER + i * Long.BYTES);
+        }
+
+        try {
+            ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(JOURNAL_FILE)))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (log.remaining() >= JOURNAL_HEADER && log.getInt(0) == JOURNAL_MAGIC
+                    && log.getInt(4) == VERSION && log.getLong(8) == generation) {
+                replay(codec, board, log, JOURNAL_HEADER);
+            }
+        } catch (NoSuchFileException e) {
+            // A snapshot without a journal is a complete save
+        }
+        try {
+            return new Model(new BoardSnapshot(codec, board));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Saved game is corrupt: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies the journaled changes to packed words, up to the first one that does not
+     * fit the board.
+     *
+     * @return the number of changes applied
+     */
+    private static int replay(BoardCodec codec, long[] board, ByteBuffer log, int from) {
+        int size = codec.getGeometry().getSize();
+        int cells = codec.getGeometry().getCellCount();
+        int applied = 0;
+        for (int position = from; position + Integer.BYTES <= log.limit(); position += Integer.BYTES) {
+            int move = log.getInt(position);
+            int cell = MoveHistory.cell(move);
+            int after = MoveHistory.after(move);
+            if (move < 0 || cell >= cells || after > size || codec.isFixed(board, 0, cell)
+                    || codec.getValue(board, 0, cell) != MoveHistory.before(move)) {
+                break;
+            }
+            codec.setValue(board, 0, cell, after);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Switches the journal to a new game, whose snapshot replaces the saved one.
+     *
+     * @param model the new game; its changes are recorded from now on
+     * @throws IllegalArgumentException if the game is played on a jigsaw board
+     */
+    public void startGame(Model model) {
+        if (model.getGeometry().isJigsaw()) {
+            throw new IllegalArgumentException("Jigsaw games cannot be saved");
+        }
+        BoardSnapshot snapshot = model.snapshot();
+        BoardCodec newCodec = new BoardCodec(snapshot.getGeometry());
+        long[] words = new long[newCodec.getWords()];
+        snapshot.copyWords(words, 0);
+        synchronized (lock) {
+            pendingCount = 0;
+            nextGame = words;
+            nextCodec = newCodec;
+            accepted++;
+            lock.notifyAll();
+        }
+        model.setChangeListener(this::record);
+    }
+
+    /**
+     * Queues one cell change for the journal. Never waits for the disk.
+     *
+     * @param move the change, packed as by {@link MoveHistory#move(int, int, int)}
+     */
+    public void record(int move) {
+        synchronized (lock) {
+            if (closing) {
+                return;
+            }
+            if (pendingCount == pending.length) {
+                int[] grown = new int[pending.length * 2];
+                System.arraycopy(pending, 0, grown, 0, pendingCount);
+                pending = grown;
+            }
+            pending[pendingCount++] = move;
+            accepted++;
+            if (pendingCount == 1) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every change recorded so far is on disk.
+     *
+     * @throws IOException if the journal could not be written, or its writer stopped first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException, IOException {
+        synchronized (lock) {
+            long target = accepted;
+            syncRequested = true;
+            lock.notifyAll();
+            while (failure == null && durable < target && writer.isAlive()) {
+                lock.wait(SYNC_INTERVAL_MS);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (durable < target) {
+                throw new IOException("The journal writer has stopped");
+            }
+        }
+    }
+
+    /**
+     * Gets the error that stopped the journal, if any.
+     *
+     * @return the error, or null while the journal works
+     */
+    public IOException getFailure() {
+        synchronized (lock) {
+            return failure;
+        }
+    }
+
+    /**
+     * Writes out the remaining changes and stops the journal.
+     *
+     * @throws IOException if the last changes could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closing = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        IOException error = getFailure();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void writeLoop() {
+        long lastSync = System.nanoTime();
+        boolean dirty = false;
+        try {
+            while (true) {
+                int count;
+                long[] game;
+                BoardCodec gameCodec;
+                long mark;
+                boolean sync;
+                boolean stop;
+                synchronized (lock) {
+                    while (pendingCount == 0 && nextGame == null && !closing && !syncRequested) {
+                        // Sleep until there is work, or until written changes are due for a sync
+                        long remaining = SYNC_INTERVAL_MS - (System.nanoTime() - lastSync) / 1_000_000;
+                        if (dirty && remaining <= 0) {
+                            break;
+                        }
+                        lock.wait(dirty ? remaining : 0);
+                    }
+                    game = nextGame;
+                    gameCodec = nextCodec;
+                    nextGame = null;
+                    int[] swap = batch;
+                    batch = pending;
+                    pending = swap;
+                    count = pendingCount;
+                    pendingCount = 0;
+                    mark = accepted;
+                    sync = syncRequested;
+                    syncRequested = false;
+                    stop = closing;
+                }
+
+                if (game != null) {
+                    codec = gameCodec;
+                    shadow = game;
+                    compact();
+                    dirty = false;
+                    lastSync = System.nanoTime();
+                }
+                if (count > 0) {
+                    append(batch, count);
+                    dirty = true;
+                }
+                if (dirty && (stop || sync || System.nanoTime() - lastSync >= SYNC_INTERVAL_MS * 1_000_000)) {
+                    journal.force(false);
+                    dirty = false;
+                    lastSync = System.nanoTime();
+                }
+                if (journalRecords >= COMPACT_RECORDS) {
+                    compact();
+                    dirty = false;
+                }
+                if (!dirty) {
+                    synchronized (lock) {
+                        durable = mark;
+                        lock.notifyAll();
+                    }
+                }
+                if (stop) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                lock.notifyAll();
+            }
+        } catch (RuntimeException e) {
+            // Report it like a write error rather than letting the thread die unnoticed
+            synchronized (lock) {
+                failure = new IOException("The journal writer failed", e);
+                lock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                if (journal != null) {
+                    journal.close();
+                }
+            } catch (IOException e) {
+                // Already forced whatever could be
+            }
+        }
+    }
+
+    /**
+     * Reads the generation of a saved snapshot.
+     *
+     * @return the generation, or 0 if there is no readable snapshot
+     */
+    private static long savedGeneration(Path snapshot) {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            return header.position() == 16 && header.getInt(0) == SNAPSHOT_MAGIC ? header.getLong(8) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Appends changes to the journal and to the shadow copy of the board.
+     */
+    private void append(int[] moves, int count) throws IOException {
+        if (buffer.capacity() < count * Integer.BYTES) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(count * Integer.BYTES) * 2)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear();
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(moves[i]);
+            codec.setValue(shadow, 0, MoveHistory.cell(moves[i]), MoveHistory.after(moves[i]));
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        journalRecords += count;
+    }
+
+    /**
+     * Saves the shadow board as the snapshot of the next generation and starts its
+     * empty journal. Until the new journal exists, the old one still names the old
+     * generation, so a crash in between loses nothing and replays nothing twice.
+     */
+    private void compact() throws IOException {
+        Files.createDirectories(directory);
+        if (generation == 0) {
+            // Continue the numbering of an earlier save, so its journal never matches
+            generation = savedGeneration(directory.resolve(SNAPSHOT_FILE));
+        }
+        generation++;
+        BoardGeometry geometry = codec.getGeometry();
+        ByteBuffer snapshot = ByteBuffer.allocate(SNAPSHOT_HEADER + shadow.length * Long.BYTES + Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        snapshot.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(generation)
+                .putInt(geometry.getBoxRows()).putInt(geometry.getBoxCols()).putInt(shadow.length);
+        for (long word : shadow) {
+            snapshot.putLong(word);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.array(), 0, snapshot.position());
+        snapshot.putInt((int) crc.getValue());
+        snapshot.flip();
+
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (journal != null) {
+            journal.close();
+        }
+        journal = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(JOURNAL_MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            journal.write(header);
+        }
+        journal.force(false);
+        journalRecords = 0;
+    }
+}
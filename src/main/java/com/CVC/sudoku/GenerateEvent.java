@@ -0,0 +1,45 @@
+package com.CVC.sudoku;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one puzzle made by the {@link PuzzleGenerator}.
+ * Disabled by default; enable {@value #NAME} in a recording to collect it.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@Name(GenerateEvent.NAME)
+@Label("Sudoku Generate")
+@Category("Sudoku")
+@Description("Generation of one puzzle with a unique solution")
+@StackTrace(false)
+public class GenerateEvent extends Event {
+    /** Event name for recording settings. */
+    public static final String NAME = "com.CVC.sudoku.Generate";
+
+    @Label("Board Size")
+    int size;
+
+    @Label("Clues")
+    int clues;
+
+    @Label("Target Clues")
+    int targetClues;
+
+    @Label("Grid Attempts")
+    @Description("Random fills needed before one could be completed")
+    int gridAttempts;
+
+    @Label("Uniqueness Checks")
+    @Description("Clue removals tried, each checked with a capped solution count")
+    int uniquenessChecks;
+}
@@ -0,0 +1,107 @@
+package com.CVC.sudoku;
+
+/**
+ * The result of grading a puzzle with the {@link LogicalSolver}: whether it has a unique
+ * solution, how often each technique was applied, and the score those uses add up to.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class Grade {
+    private static final Technique[] TECHNIQUES = Technique.values();
+
+    private final boolean unique;
+    private final int[] counts;
+    private final int score;
+
+    /**
+     * Constructs a grade.
+     *
+     * @param unique whether the puzzle has exactly one solution
+     * @param counts the number of uses of each technique, in {@link Technique} order
+     * @param score the total score
+     */
+    Grade(boolean unique, int[] counts, int score) {
+        this.unique = unique;
+        this.counts = counts.clone();
+        this.score = score;
+    }
+
+    /**
+     * Tells whether the puzzle has exactly one solution.
+     *
+     * @return true for a proper puzzle
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * Gets the number of times a technique was applied.
+     *
+     * @param technique the technique
+     * @return the use count
+     */
+    public int getCount(Technique technique) {
+        return counts[technique.ordinal()];
+    }
+
+    /**
+     * Tells whether logic alone was not enough and search was needed.
+     *
+     * @return true if the {@link Technique#SEARCH} fallback ran
+     */
+    public boolean needsSearch() {
+        return counts[Technique.SEARCH.ordinal()] > 0;
+    }
+
+    /**
+     * Gets the hardest technique that was applied.
+     *
+     * @return the hardest technique, or null if the puzzle was already solved
+     */
+    public Technique getHardest() {
+        for (int i = TECHNIQUES.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return TECHNIQUES[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the difficulty level given by the hardest technique applied.
+     *
+     * @return the difficulty level
+     */
+    public Difficulty getDifficulty() {
+        Technique hardest = getHardest();
+        return hardest == null ? Difficulty.EASY : hardest.getDifficulty();
+    }
+
+    /**
+     * Gets the sum of the weights of every technique use; higher is harder.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Grade[").append(getDifficulty()).append(", score=").append(score);
+        if (!unique) {
+            text.append(", not unique");
+        }
+        for (Technique technique : TECHNIQUES) {
+            if (counts[technique.ordinal()] > 0) {
+                text.append(", ").append(technique).append('=').append(counts[technique.ordinal()]);
+            }
+        }
+        return text.append(']').toString();
+    }
+}
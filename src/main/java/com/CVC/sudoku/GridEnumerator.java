@@ -0,0 +1,352 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enumerates every valid complete grid of a small board, such as the 28,200,960 grids
+ * of the 6x6 board, to count them or stream them to a file.
+ *
+ * <p>Relabeling the digits maps valid grids to valid grids, and exactly one relabeling
+ * of any grid has {@code 1, 2, ..., N} as its first row. Only those base grids are
+ * searched, with {@link Solver#findSolutions(int[][], int, java.util.function.Consumer)};
+ * every grid is then the image of one base grid under one of the N! digit
+ * permutations. The search is split by filling the first empty cells in every
+ * consistent way until there are about sixteen partitions per thread, and the
+ * partitions are shared out among the worker threads.</p>
+ *
+ * <p>Grids are written as {@link BoardCodec} value words (two little-endian longs per
+ * 6x6 grid), with no header, in no particular order. Since every field of a packed grid
+ * holds one digit, a base grid is packed once per digit as a mask of ones at the low
+ * bit of that digit's fields, and a permuted grid is the sum of those masks scaled by
+ * the new digits, which costs a few multiplications per word.</p>
+ *
+ * <p>Usage: {@code --enumerate [output] [--threads N]}; without an output file, the
+ * grids are only counted.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class GridEnumerator {
+    /** Largest board side whose grids can be enumerated in reasonable time. */
+    public static final int MAX_SIZE = 6;
+
+    private static final int PARTITIONS_PER_THREAD = 16;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int threads;
+    private final BoardCodec codec;
+    private final int[][] permutations;
+
+    /**
+     * Constructs an enumerator.
+     *
+     * @param geometry the shape of the grids, at most {@value #MAX_SIZE} on a side
+     * @param threads the number of worker threads
+     */
+    public GridEnumerator(BoardGeometry geometry, int threads) {
+        if (geometry.getSize() > MAX_SIZE) {
+            throw new IllegalArgumentException("Cannot enumerate " + geometry + " grids");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.threads = threads;
+        this.codec = new BoardCodec(geometry);
+        this.permutations = digitPermutations(size);
+    }
+
+    /**
+     * Entry point of the enumerator.
+     *
+     * @param args the command line arguments, without the leading {@code --enumerate}
+     */
+    public static void main(String[] args) {
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--threads")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (output == null) {
+                    output = args[i];
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --enumerate [output] [--threads N]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            GridEnumerator enumerator = new GridEnumerator(BoardGeometry.SIX, threads);
+            long start = System.nanoTime();
+            long grids = output == null ? enumerator.count() : enumerator.write(Paths.get(output));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println(String.format("%s %d grids in %.3f s (%.0f grids/sec, %d threads)",
+                    output == null ? "Counted" : "Wrote", grids, seconds, seconds > 0 ? grids / seconds : 0.0,
+                    threads));
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gets the shape of the grids this enumerator produces.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Counts every valid grid by counting the base grids and scaling by the number of
+     * digit permutations.
+     *
+     * @return the number of valid grids
+     * @throws IOException if a worker fails
+     */
+    public long count() throws IOException {
+        AtomicLong bases = new AtomicLong();
+        run(partition -> bases.addAndGet(partition.solver.countSolutions(partition.board, Integer.MAX_VALUE)));
+        return bases.get() * permutations.length;
+    }
+
+    /**
+     * Writes every valid grid to a file as packed value words.
+     *
+     * @param output the file to create
+     * @return the number of grids written
+     * @throws IOException if writing fails
+     */
+    public long write(Path output) throws IOException {
+        AtomicLong grids = new AtomicLong();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            int words = codec.getValueWords();
+            run(partition -> {
+                ByteBuffer buffer = partition.buffer();
+                long[] digitFields = new long[(size + 1) * words];
+                partition.solver.findSolutions(partition.board, Integer.MAX_VALUE, grid -> {
+                    digitFields(grid, digitFields, words);
+                    for (int[] permutation : permutations) {
+                        if (buffer.remaining() < words * Long.BYTES) {
+                            try {
+                                flush(buffer, channel);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                        for (int w = 0; w < words; w++) {
+                            long word = 0;
+                            for (int digit = 1; digit <= size; digit++) {
+                                word += permutation[digit] * digitFields[digit * words + w];
+                            }
+                            buffer.putLong(word);
+                        }
+                    }
+                    grids.addAndGet(permutations.length);
+                });
+                flush(buffer, channel);
+            });
+        }
+        return grids.get();
+    }
+
+    /**
+     * Packs, for each digit, a mask with a one at the low bit of every field holding it.
+     */
+    private void digitFields(int[][] grid, long[] digitFields, int words) {
+        Arrays.fill(digitFields, 0);
+        int bits = codec.getBitsPerCell();
+        int perWord = 64 / bits;
+        for (int cell = 0; cell < cells; cell++) {
+            int digit = grid[cell / size][cell % size];
+            digitFields[digit * words + cell / perWord] |= 1L << (cell % perWord * bits);
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Splits the base grids into partitions and runs a task on each of them across
+     * the worker threads, each with its own solver.
+     *
+     * @param task the work to do per partition
+     * @throws IOException if a task fails to write
+     */
+    private void run(PartitionTask task) throws IOException {
+        List<int[][]> partitions = partitions();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "grid-enumerator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ThreadLocal<Partition> workers = ThreadLocal.withInitial(() -> new Partition(new Solver(geometry)));
+        try {
+            List<Future<?>> results = new ArrayList<>(partitions.size());
+            for (int[][] board : partitions) {
+                results.add(pool.submit(() -> {
+                    Partition partition = workers.get();
+                    partition.board = board;
+                    task.run(partition);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while enumerating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Enumeration failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Lists the partial boards that split the base grids between the workers: the
+     * first row is 1..N, and the next empty cells are filled in every consistent way
+     * until there are enough partitions.
+     *
+     * @return the partial boards, which together cover every base grid once
+     */
+    private List<int[][]> partitions() {
+        List<int[][]> level = new ArrayList<>();
+        int[][] first = new int[size][size];
+        for (int col = 0; col < size; col++) {
+            first[0][col] = col + 1;
+        }
+        level.add(first);
+
+        for (int cell = size; cell < cells && level.size() < PARTITIONS_PER_THREAD * threads; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            List<int[][]> next = new ArrayList<>();
+            for (int[][] board : level) {
+                for (int digit = 1; digit <= size; digit++) {
+                    if (fits(board, row, col, digit)) {
+                        int[][] child = new int[size][];
+                        for (int i = 0; i < size; i++) {
+                            child[i] = board[i].clone();
+                        }
+                        child[row][col] = digit;
+                        next.add(child);
+                    }
+                }
+            }
+            level = next;
+        }
+        return level;
+    }
+
+    private boolean fits(int[][] board, int row, int col, int digit) {
+        int[] peerStart = geometry.peerStart();
+        int[] peers = geometry.peers();
+        int cell = row * size + col;
+        for (int i = peerStart[cell]; i < peerStart[cell + 1]; i++) {
+            if (board[peers[i] / size][peers[i] % size] == digit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lists every permutation of the digits 1..n, indexed by the original digit
+     * (index 0 is unused).
+     */
+    private static int[][] digitPermutations(int n) {
+        List<int[]> result = new ArrayList<>();
+        int[] current = new int[n + 1];
+        boolean[] used = new boolean[n + 1];
+        permute(1, n, current, used, result);
+        return result.toArray(new int[0][]);
+    }
+
+    private static void permute(int digit, int n, int[] current, boolean[] used, List<int[]> result) {
+        if (digit > n) {
+            result.add(current.clone());
+            return;
+        }
+        for (int target = 1; target <= n; target++) {
+            if (!used[target]) {
+                used[target] = true;
+                current[digit] = target;
+                permute(digit + 1, n, current, used, result);
+                used[target] = false;
+            }
+        }
+    }
+
+    /**
+     * Work done on one partition of the base grids.
+     */
+    private interface PartitionTask {
+        void run(Partition partition) throws IOException;
+    }
+
+    /**
+     * A worker's solver and write buffer, together with the partition it is working on.
+     */
+    private static final class Partition {
+        final Solver solver;
+        int[][] board;
+        private ByteBuffer buffer;
+
+        Partition(Solver solver) {
+            this.solver = solver;
+        }
+
+        ByteBuffer buffer() {
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return buffer;
+        }
+    }
+}
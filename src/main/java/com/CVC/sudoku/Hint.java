@@ -0,0 +1,88 @@
+package com.CVC.sudoku;
+
+/**
+ * A hint from the {@link HintProvider}: either the digit that belongs in an empty cell,
+ * or a player entry that does not match the solution and should be cleared.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class Hint {
+    private final int row;
+    private final int col;
+    private final int value;
+    private final Technique technique;
+    private final boolean correction;
+
+    /**
+     * Constructs a hint.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @param value the solution digit of the cell
+     * @param technique the technique that finds the digit, or null if no single does
+     * @param correction whether the cell holds a wrong entry
+     */
+    Hint(int row, int col, int value, Technique technique, boolean correction) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.technique = technique;
+        this.correction = correction;
+    }
+
+    /**
+     * Gets the row of the cell.
+     *
+     * @return the row index
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column of the cell.
+     *
+     * @return the column index
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Gets the digit of the solution in the cell.
+     *
+     * @return the solution digit
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the technique that places the digit from the current board:
+     * {@link Technique#NAKED_SINGLE} or {@link Technique#HIDDEN_SINGLE}.
+     *
+     * @return the technique, or null for a correction or a cell that needs more than singles
+     */
+    public Technique getTechnique() {
+        return technique;
+    }
+
+    /**
+     * Tells whether this hint points out a wrong entry instead of an empty cell.
+     *
+     * @return true if the cell holds a digit other than the solution's
+     */
+    public boolean isCorrection() {
+        return correction;
+    }
+
+    @Override
+    public String toString() {
+        return "Hint[" + (row + 1) + "," + (col + 1) + "=" + value
+                + (correction ? ", correction" : technique != null ? ", " + technique : "") + "]";
+    }
+}
@@ -0,0 +1,202 @@
+package com.CVC.sudoku;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Hints for one puzzle, backed by its solution.
+ *
+ * <p>The puzzle is solved once, by the {@link LogicalSolver} on the given executor, as
+ * soon as the provider is created; the solution and the puzzle's {@link Grade} are then
+ * kept for the rest of the game. Until the solver is done, {@link #next(Model)} returns
+ * null instead of waiting, so the caller's thread never blocks on solving.</p>
+ *
+ * <p>A hint first points out a player entry that does not match the solution. Otherwise
+ * it goes for the next logical step: a naked single, then a hidden single, and failing
+ * both the empty cell with the fewest candidates. The digit is always the solution's.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class HintProvider {
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final CompletableFuture<Grade> ready;
+    private volatile int[] solution;
+
+    /** Candidates of each empty cell, refilled by every call to {@link #next(Model)}. */
+    private final int[] candidates;
+
+    /**
+     * Constructs a provider and starts solving the puzzle.
+     *
+     * @param geometry the shape of the puzzle
+     * @param givens the puzzle (0 for empty cells); it is copied before this returns
+     * @param executor the executor that runs the solver
+     */
+    public HintProvider(BoardGeometry geometry, int[][] givens, Executor executor) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.candidates = new int[cells];
+        int[][] board = new int[size][];
+        for (int row = 0; row < size; row++) {
+            board[row] = givens[row].clone();
+        }
+        ready = CompletableFuture.supplyAsync(() -> solve(board), executor);
+    }
+
+    /**
+     * Constructs a provider for a puzzle and starts solving it.
+     *
+     * @param puzzle the puzzle
+     * @param executor the executor that runs the solver
+     */
+    public HintProvider(Puzzle puzzle, Executor executor) {
+        this(puzzle.getGeometry(), puzzle.getGivens(), executor);
+    }
+
+    private Grade solve(int[][] board) {
+        Grade grade = new LogicalSolver(geometry).solve(board);
+        if (grade != null) {
+            int[] flat = new int[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                flat[cell] = board[cell / size][cell % size];
+            }
+            solution = flat;
+        }
+        return grade;
+    }
+
+    /**
+     * Tells whether the puzzle has been solved, successfully or not.
+     *
+     * @return true once hints are available
+     */
+    public boolean isReady() {
+        return ready.isDone();
+    }
+
+    /**
+     * Tells whether the puzzle turned out to have a solution.
+     *
+     * @return true if solved, false if unsolvable or not solved yet
+     */
+    public boolean isSolvable() {
+        return solution != null;
+    }
+
+    /**
+     * Gets the future completed with the puzzle's grade (null if it has no solution).
+     *
+     * @return the future
+     */
+    public CompletableFuture<Grade> whenReady() {
+        return ready;
+    }
+
+    /**
+     * Gets the grade of the puzzle without waiting.
+     *
+     * @return the grade, or null if not solved yet or unsolvable
+     */
+    public Grade getGrade() {
+        return ready.isDone() && !ready.isCompletedExceptionally() ? ready.join() : null;
+    }
+
+    /**
+     * Gets the solution digit of a cell without waiting.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the digit, or 0 if the solution is not known yet
+     */
+    public int getSolutionValue(int row, int col) {
+        int[] solved = solution;
+        return solved == null ? 0 : solved[row * size + col];
+    }
+
+    /**
+     * Stops the solver if it has not started yet.
+     */
+    public void cancel() {
+        ready.cancel(false);
+    }
+
+    /**
+     * Finds the next hint for the game in a model. Calls share one scratch array of
+     * candidates rather than allocating a new one, so they must come from one thread
+     * at a time, such as the FX application thread.
+     *
+     * @param model the game, which must be playing this provider's puzzle
+     * @return the hint, or null if the solution is not known yet or the board is solved
+     */
+    public Hint next(Model model) {
+        int[] solved = solution;
+        if (solved == null) {
+            return null;
+        }
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.get().recordHint();
+        }
+
+        // Wrong entries first: until they go, candidates do not lead to the solution
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int row = 0, cell = 0; row < size; row++) {
+            for (int col = 0; col < size; col++, cell++) {
+                candidates[cell] = 0;
+                if (model.isCellFixed(row, col)) {
+                    continue;
+                }
+                int value = model.getCellValue(row, col);
+                if (value != 0) {
+                    if (value != solved[cell]) {
+                        return new Hint(row, col, solved[cell], null, true);
+                    }
+                    continue;
+                }
+                candidates[cell] = model.getCandidates(row, col);
+                int count = Integer.bitCount(candidates[cell]);
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                }
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        if (bestCount == 1) {
+            return hint(best, solved, Technique.NAKED_SINGLE);
+        }
+
+        // A digit that fits only one cell of a unit
+        int[] unitCells = geometry.unitCells();
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int once = 0;
+            int twice = 0;
+            for (int i = 0; i < size; i++) {
+                int mask = candidates[unitCells[unit * size + i]];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int singles = once & ~twice;
+            for (int i = 0; singles != 0 && i < size; i++) {
+                int cell = unitCells[unit * size + i];
+                if ((candidates[cell] & singles & 1 << (solved[cell] - 1)) != 0) {
+                    return hint(cell, solved, Technique.HIDDEN_SINGLE);
+                }
+            }
+        }
+        return hint(best, solved, null);
+    }
+
+    private Hint hint(int cell, int[] solved, Technique technique) {
+        return new Hint(cell / size, cell % size, solved[cell], technique, false);
+    }
+}
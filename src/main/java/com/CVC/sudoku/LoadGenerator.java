@@ -0,0 +1,256 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for the {@link SudokuServer}: sends batches of puzzles to
+ * {@code /solve} from several client threads and reports the throughput and the
+ * latency percentiles of the requests.
+ *
+ * <p>The puzzles are generated before the clock starts and cycled through. Without a
+ * URL, a server is started in this process on a free loopback port and stopped at the
+ * end, which measures the service without a separate launch.</p>
+ *
+ * <p>Usage: {@code --load [url] [--requests N] [--concurrency N] [--batch N] [--size S]
+ * [--difficulty LEVEL]}.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class LoadGenerator {
+    private static final int DISTINCT_PUZZLES = 256;
+    private static final int WARMUP_REQUESTS = 200;
+
+    private final URI solveUri;
+    private final int concurrency;
+    private final int batch;
+    private final String[] puzzles;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param baseUri the address of the server, such as {@code http://127.0.0.1:8080/}
+     * @param concurrency the number of client threads sending requests
+     * @param batch the number of puzzles per request
+     * @param puzzles the puzzles to send, in the single-line format
+     */
+    public LoadGenerator(URI baseUri, int concurrency, int batch, String[] puzzles) {
+        if (concurrency < 1 || batch < 1 || puzzles.length == 0) {
+            throw new IllegalArgumentException("Concurrency, batch and puzzles must be positive");
+        }
+        this.solveUri = baseUri.resolve("/solve");
+        this.concurrency = concurrency;
+        this.batch = batch;
+        this.puzzles = puzzles.clone();
+    }
+
+    /**
+     * Entry point of the load generator.
+     *
+     * @param args the command line arguments, without the leading {@code --load}
+     */
+    public static void main(String[] args) {
+        String url = null;
+        int requests = 10000;
+        int concurrency = 8;
+        int batch = 1;
+        int size = 6;
+        Difficulty difficulty = Difficulty.HARD;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--requests":
+                        requests = Integer.parseInt(args[++i]);
+                        break;
+                    case "--concurrency":
+                        concurrency = Integer.parseInt(args[++i]);
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(args[++i]);
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(args[++i]);
+                        break;
+                    case "--difficulty":
+                        difficulty = Difficulty.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+                    default:
+                        if (url != null) {
+                            throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                        }
+                        url = args[i];
+                }
+            }
+            if (requests < 1) {
+                throw new IllegalArgumentException("At least one request is required");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --load [url] [--requests N] [--concurrency N] [--batch N] [--size S]"
+                    + " [--difficulty LEVEL]");
+            System.exit(2);
+            return;
+        }
+
+        PuzzleGenerator generator = new PuzzleGenerator(BoardGeometry.ofSize(size));
+        String[] puzzles = new String[DISTINCT_PUZZLES];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = BoardFormat.formatBoard(generator.generate(difficulty).getGivens());
+        }
+
+        SudokuServer local = null;
+        try {
+            if (url == null) {
+                local = new SudokuServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                        2 * concurrency, new SolverService(Math.max(1024, concurrency * batch)));
+                local.start();
+                url = "http://127.0.0.1:" + local.getPort() + "/";
+            }
+            LoadGenerator load = new LoadGenerator(URI.create(url), concurrency, batch, puzzles);
+            load.run(Math.min(WARMUP_REQUESTS, requests));
+            Report report = load.run(requests);
+            System.err.println(report.format(size, batch, concurrency));
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            if (local != null) {
+                local.close();
+            }
+        }
+    }
+
+    /**
+     * Sends a number of requests and measures them.
+     *
+     * @param requests the number of requests to send
+     * @return the measurements
+     * @throws IOException if a request cannot be sent
+     */
+    public Report run(int requests) throws IOException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> clients = new ArrayList<>(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(pool.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(solveUri)
+                                .POST(HttpRequest.BodyPublishers.ofString(body(index)))
+                                .build();
+                        long sent = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies[index] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200 || !response.body().lines().allMatch(line -> line.endsWith(",solved"))) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending requests", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Request failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(latencies, System.nanoTime() - start, failures.get());
+    }
+
+    private String body(int index) {
+        StringBuilder body = new StringBuilder(batch * (puzzles[0].length() + 1));
+        for (int i = 0; i < batch; i++) {
+            body.append(puzzles[(index * batch + i) % puzzles.length]).append('\n');
+        }
+        return body.toString();
+    }
+
+    /**
+     * Throughput and latency figures of a run.
+     */
+    public static final class Report {
+        private final long[] sorted;
+        private final long elapsedNanos;
+        private final long failures;
+
+        Report(long[] latencies, long elapsedNanos, long failures) {
+            this.sorted = latencies.clone();
+            Arrays.sort(sorted);
+            this.elapsedNanos = elapsedNanos;
+            this.failures = failures;
+        }
+
+        /**
+         * Gets a latency percentile.
+         *
+         * @param percent the percentile, from 0 to 100
+         * @return the latency in nanoseconds
+         */
+        public long percentile(double percent) {
+            int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        /**
+         * Gets the number of requests that failed or left a puzzle unsolved.
+         *
+         * @return the failure count
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Gets the number of requests completed per second.
+         *
+         * @return the request rate
+         */
+        public double getRequestsPerSecond() {
+            return sorted.length / (elapsedNanos / 1e9);
+        }
+
+        String format(int size, int batch, int concurrency) {
+            return String.format("%d requests of %d %dx%d puzzles, %d clients: %.0f requests/sec, %.0f puzzles/sec%n"
+                            + "latency p50 %d us, p90 %d us, p99 %d us, max %d us; %d failures",
+                    sorted.length, batch, size, size, concurrency, getRequestsPerSecond(),
+                    getRequestsPerSecond() * batch, percentile(50) / 1000, percentile(90) / 1000,
+                    percentile(99) / 1000, sorted[sorted.length - 1] / 1000, failures);
+        }
+    }
+}
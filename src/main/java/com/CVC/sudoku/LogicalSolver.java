@@ -0,0 +1,492 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Solves puzzles the way a person would, by constraint propagation over candidate
+ * sets, and grades them by the techniques that were needed.
+ *
+ * <p>Every empty cell keeps a bit mask of its candidate digits. The solver applies the
+ * simplest technique that makes progress and starts over from the simplest after each
+ * step: naked singles, hidden singles, naked pairs, hidden pairs, and the line/block
+ * intersections (pointing and box-line reduction). When none of them applies, the
+ * remaining board is handed to a backtracking {@link Solver}, which also settles
+ * whether the solution is unique. The uses of each {@link Technique} are counted into
+ * a {@link Grade}.</p>
+ *
+ * <p>All state is preallocated per solver, which is therefore not thread-safe.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class LogicalSolver {
+    private static final int CONTRADICTION = -1;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int allDigits;
+    private final int[] unitCells;
+    private final int[] cellUnits;
+
+    // Line/block intersections: the line, the block and the cells they share
+    private final int[] segmentLine;
+    private final int[] segmentBox;
+    private final int[] segmentCells;
+    private final int[] segmentStart;
+
+    private final int[] values;
+    private final int[] candidates;
+    private final boolean[] inSegment;
+    private final int[] counts = new int[Technique.values().length];
+    private int filled;
+    private int score;
+    private boolean unique;
+
+    private final Solver fallback;
+    private final int[][] board;
+    private final Consumer<int[][]> keepFirst = this::keepFirst;
+    private boolean kept;
+
+    /**
+     * Constructs a logical solver for the classic 6x6 board.
+     */
+    public LogicalSolver() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a logical solver for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards this solver works on
+     */
+    public LogicalSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.allDigits = geometry.getAllDigits();
+        this.unitCells = geometry.unitCells();
+        int[] rowOf = geometry.cellRows();
+        int[] colOf = geometry.cellCols();
+        int[] boxOf = geometry.cellBoxes();
+
+        cellUnits = new int[3 * cells];
+        for (int cell = 0; cell < cells; cell++) {
+            cellUnits[3 * cell] = rowOf[cell];
+            cellUnits[3 * cell + 1] = size + colOf[cell];
+            cellUnits[3 * cell + 2] = 2 * size + boxOf[cell];
+        }
+
+        // A rectangular block meets boxRows rows and boxCols columns; a jigsaw region
+        // meets any number of them
+        boolean[] meets = new boolean[2 * size * size];
+        for (int cell = 0; cell < cells; cell++) {
+            meets[2 * size * boxOf[cell] + rowOf[cell]] = true;
+            meets[2 * size * boxOf[cell] + size + colOf[cell]] = true;
+        }
+        int segments = 0;
+        for (boolean meet : meets) {
+            if (meet) {
+                segments++;
+            }
+        }
+        segmentLine = new int[segments];
+        segmentBox = new int[segments];
+        segmentStart = new int[segments + 1];
+        segmentCells = new int[2 * cells];
+        int next = 0;
+        int used = 0;
+        for (int box = 0; box < size; box++) {
+            for (int line = 0; line < 2 * size; line++) {
+                int start = used;
+                for (int i = 0; i < size; i++) {
+                    int cell = unitCells[line * size + i];
+                    if (boxOf[cell] == box) {
+                        segmentCells[used++] = cell;
+                    }
+                }
+                if (used > start) {
+                    segmentLine[next] = line;
+                    segmentBox[next] = 2 * size + box;
+                    segmentStart[next++] = start;
+                }
+            }
+        }
+        segmentStart[next] = used;
+
+        values = new int[cells];
+        candidates = new int[cells];
+        inSegment = new boolean[cells];
+        fallback = new Solver(geometry);
+        board = new int[size][size];
+    }
+
+    /**
+     * Gets the shape of the boards this solver works on.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Grades a puzzle. The board is left unchanged.
+     *
+     * @param puzzle the puzzle (0 for empty cells)
+     * @return the grade, or null if the puzzle has no solution
+     */
+    public Grade grade(int[][] puzzle) {
+        return run(puzzle) ? new Grade(unique, counts, score) : null;
+    }
+
+    /**
+     * Solves a board in place, by logic first and search if needed.
+     *
+     * @param puzzle the board to solve (0 for empty cells); filled in on success
+     * @return the grade, or null if the board has no solution (the board is then unchanged)
+     */
+    public Grade solve(int[][] puzzle) {
+        if (!run(puzzle)) {
+            return null;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            puzzle[cell / size][cell % size] = values[cell];
+        }
+        return new Grade(unique, counts, score);
+    }
+
+    /**
+     * Propagates a puzzle as far as the techniques go, then searches the rest.
+     * On success {@code values} holds a solution.
+     *
+     * @param puzzle the puzzle
+     * @return false if the puzzle has no solution
+     */
+    private boolean run(int[][] puzzle) {
+        Arrays.fill(counts, 0);
+        score = 0;
+        if (!load(puzzle)) {
+            return false;
+        }
+        while (filled < cells) {
+            int progress = nakedSingles();
+            if (progress == 0) {
+                progress = hiddenSingles();
+            }
+            if (progress == 0) {
+                progress = nakedPairs();
+            }
+            if (progress == 0) {
+                progress = hiddenPairs();
+            }
+            if (progress == 0) {
+                progress = intersections();
+            }
+            if (progress == CONTRADICTION) {
+                return false;
+            }
+            if (progress == 0) {
+                return search();
+            }
+        }
+        unique = true;
+        return true;
+    }
+
+    /**
+     * Fills the cells with the givens and works out the candidates of the others.
+     *
+     * @param puzzle the puzzle
+     * @return false if two givens conflict
+     */
+    private boolean load(int[][] puzzle) {
+        filled = 0;
+        Arrays.fill(candidates, allDigits);
+        for (int cell = 0; cell < cells; cell++) {
+            values[cell] = 0;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            int value = puzzle[cell / size][cell % size];
+            if (value == 0) {
+                continue;
+            }
+            if (value < 0 || value > size || (candidates[cell] & 1 << (value - 1)) == 0) {
+                return false;
+            }
+            place(cell, value);
+        }
+        return true;
+    }
+
+    /**
+     * Writes a digit and removes it from the candidates of the cell's peers.
+     */
+    private void place(int cell, int value) {
+        int bit = 1 << (value - 1);
+        values[cell] = value;
+        candidates[cell] = 0;
+        filled++;
+        for (int k = 3 * cell; k < 3 * cell + 3; k++) {
+            int base = cellUnits[k] * size;
+            for (int i = base; i < base + size; i++) {
+                candidates[unitCells[i]] &= ~bit;
+            }
+        }
+    }
+
+    private void record(Technique technique) {
+        counts[technique.ordinal()]++;
+        score += technique.getWeight();
+    }
+
+    /**
+     * Places every cell that has a single candidate.
+     *
+     * @return the number of cells placed, or {@link #CONTRADICTION}
+     */
+    private int nakedSingles() {
+        int placed = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (values[cell] != 0) {
+                continue;
+            }
+            int mask = candidates[cell];
+            if (mask == 0) {
+                return CONTRADICTION;
+            }
+            if ((mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask) + 1);
+                record(Technique.NAKED_SINGLE);
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Places every digit that has a single possible cell in some unit.
+     *
+     * @return the number of cells placed, or {@link #CONTRADICTION}
+     */
+    private int hiddenSingles() {
+        int placed = 0;
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int base = unit * size;
+            int once = 0;
+            int twice = 0;
+            int present = 0;
+            for (int i = base; i < base + size; i++) {
+                int cell = unitCells[i];
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+                if (values[cell] != 0) {
+                    present |= 1 << (values[cell] - 1);
+                }
+            }
+            if ((once | present) != allDigits) {
+                return CONTRADICTION;
+            }
+            for (int singles = once & ~twice; singles != 0; singles &= singles - 1) {
+                int bit = singles & -singles;
+                for (int i = base; i < base + size; i++) {
+                    int cell = unitCells[i];
+                    if ((candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        record(Technique.HIDDEN_SINGLE);
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Finds two cells of a unit with the same two candidates and removes those
+     * digits from the other cells of the unit.
+     *
+     * @return the number of pairs that removed candidates
+     */
+    private int nakedPairs() {
+        int applied = 0;
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int base = unit * size;
+            for (int i = base; i < base + size; i++) {
+                int pair = candidates[unitCells[i]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < base + size; j++) {
+                    if (candidates[unitCells[j]] != pair) {
+                        continue;
+                    }
+                    boolean removed = false;
+                    for (int k = base; k < base + size; k++) {
+                        int cell = unitCells[k];
+                        if (k != i && k != j && (candidates[cell] & pair) != 0) {
+                            candidates[cell] &= ~pair;
+                            removed = true;
+                        }
+                    }
+                    if (removed) {
+                        record(Technique.NAKED_PAIR);
+                        applied++;
+                    }
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Finds two digits confined to the same two cells of a unit and removes every
+     * other candidate from those cells.
+     *
+     * @return the number of pairs that removed candidates
+     */
+    private int hiddenPairs() {
+        int applied = 0;
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int base = unit * size;
+            for (int a = 0; a < size; a++) {
+                int cellsA = digitCells(base, 1 << a);
+                if (Integer.bitCount(cellsA) != 2) {
+                    continue;
+                }
+                for (int b = a + 1; b < size; b++) {
+                    if (digitCells(base, 1 << b) != cellsA) {
+                        continue;
+                    }
+                    int pair = 1 << a | 1 << b;
+                    boolean removed = false;
+                    for (int positions = cellsA; positions != 0; positions &= positions - 1) {
+                        int cell = unitCells[base + Integer.numberOfTrailingZeros(positions)];
+                        if ((candidates[cell] & ~pair) != 0) {
+                            candidates[cell] &= pair;
+                            removed = true;
+                        }
+                    }
+                    if (removed) {
+                        record(Technique.HIDDEN_PAIR);
+                        applied++;
+                    }
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the positions within a unit of the cells that allow a digit.
+     *
+     * @param base the index of the unit's first cell in {@code unitCells}
+     * @param bit the digit bit
+     * @return a mask of positions within the unit
+     */
+    private int digitCells(int base, int bit) {
+        int positions = 0;
+        for (int i = 0; i < size; i++) {
+            if ((candidates[unitCells[base + i]] & bit) != 0) {
+                positions |= 1 << i;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Applies pointing and box-line reduction over every line/block intersection.
+     * A digit that, within the block, only fits in the intersection leaves the rest
+     * of the line (pointing); one that, within the line, only fits in the intersection
+     * leaves the rest of the block (box-line reduction).
+     *
+     * @return the number of reductions that removed candidates
+     */
+    private int intersections() {
+        int applied = 0;
+        for (int s = 0; s < segmentLine.length; s++) {
+            int inside = 0;
+            for (int i = segmentStart[s]; i < segmentStart[s + 1]; i++) {
+                inside |= candidates[segmentCells[i]];
+                inSegment[segmentCells[i]] = true;
+            }
+            int lineRest = outsideCandidates(segmentLine[s]);
+            int boxRest = outsideCandidates(segmentBox[s]);
+
+            int pointing = inside & ~boxRest & lineRest;
+            if (pointing != 0) {
+                removeOutside(segmentLine[s], pointing);
+                record(Technique.POINTING);
+                applied++;
+            }
+            int boxLine = inside & ~lineRest & boxRest;
+            if (boxLine != 0) {
+                removeOutside(segmentBox[s], boxLine);
+                record(Technique.BOX_LINE);
+                applied++;
+            }
+            for (int i = segmentStart[s]; i < segmentStart[s + 1]; i++) {
+                inSegment[segmentCells[i]] = false;
+            }
+        }
+        return applied;
+    }
+
+    private int outsideCandidates(int unit) {
+        int mask = 0;
+        for (int i = unit * size; i < unit * size + size; i++) {
+            int cell = unitCells[i];
+            if (!inSegment[cell]) {
+                mask |= candidates[cell];
+            }
+        }
+        return mask;
+    }
+
+    private void removeOutside(int unit, int digits) {
+        for (int i = unit * size; i < unit * size + size; i++) {
+            int cell = unitCells[i];
+            if (!inSegment[cell]) {
+                candidates[cell] &= ~digits;
+            }
+        }
+    }
+
+    /**
+     * Finishes the board with backtracking once no technique applies.
+     * Only the placed digits are handed over; the candidate eliminations are implied.
+     *
+     * @return false if the board has no solution
+     */
+    private boolean search() {
+        record(Technique.SEARCH);
+        for (int cell = 0; cell < cells; cell++) {
+            board[cell / size][cell % size] = values[cell];
+        }
+        kept = false;
+        int solutions = fallback.findSolutions(board, 2, keepFirst);
+        if (solutions == 0) {
+            return false;
+        }
+        unique = solutions == 1;
+        return true;
+    }
+
+    /**
+     * Copies the first solution the fallback finds into the cell values.
+     */
+    private void keepFirst(int[][] solution) {
+        if (!kept) {
+            for (int cell = 0; cell < cells; cell++) {
+                values[cell] = solution[cell / size][cell % size];
+            }
+            kept = true;
+        }
+    }
+}
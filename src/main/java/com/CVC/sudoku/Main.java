@@ -6,6 +6,7 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Main application class for the Sudoku 6x6 game.
@@ -18,6 +19,7 @@ import java.io.IOException;
  * @since 2025
  */
 public class Main extends Application {
+    private Controller controller;
 
     /**
      * Starts the JavaFX application and sets up the primary stage.
@@ -28,19 +30,63 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage stage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("sudoku-view.fxml"));
+        FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("view-sudoku.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 600, 700);
+        controller = fxmlLoader.getController();
         stage.setTitle("Sudoku 6x6 - Universidad del Valle");
         stage.setScene(scene);
         stage.show();
     }
 
+    /**
+     * Saves the game in progress when the application closes.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     /**
      * Main method that launches the JavaFX application.
+     * With {@code --batch} as the first argument, runs the headless {@link BatchSolver} instead,
+     * with {@code --dedup}, the {@link PuzzleDeduplicator}, with {@code --build-db}, the
+     * {@link PuzzleDatabaseBuilder}, with {@code --enumerate}, the {@link GridEnumerator}, with
+     * {@code --serve}, the {@link SudokuServer}, with {@code --load}, the
+     * {@link LoadGenerator}, and with {@code --minimal}, the {@link MinimalPuzzleSearch}.
      *
      * @param args command line arguments passed to the application
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchSolver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--dedup")) {
+            PuzzleDeduplicator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--build-db")) {
+            PuzzleDatabaseBuilder.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--enumerate")) {
+            GridEnumerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            SudokuServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--minimal")) {
+            MinimalPuzzleSearch.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         launch(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,739 @@
+package com.CVC.sudoku;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Searches for minimal puzzles, which lose their unique solution if any clue is
+ * removed, and for the fewest clues any uniquely solvable puzzle of a small board can
+ * have.
+ *
+ * <p>The fewest-clue search is exhaustive. Symmetries preserve clue counts, so one grid
+ * of each equivalence class is searched: the base grids (first row {@code 1..N}) are
+ * enumerated and reduced with a {@link BoardCanonicalizer}, which leaves 49 classes on
+ * 6x6. For a grid and a clue count {@code k}, only clue sets that hit every unavoidable
+ * set of the grid can have a unique solution, where an unavoidable set is a set of
+ * cells whose digits can be rearranged into another valid grid. The starting sets come
+ * from blanking every pair and triple of digits and collecting how the other solutions
+ * differ from the grid. Clue sets are then built as hitting sets, depth first, on
+ * 64-bit cell masks: each step branches on the cells of the unhit set with the fewest
+ * cells left, and excludes the cells already tried from later branches, so that each
+ * clue set is built once. A branch ends when an unhit set has no cells left, or when
+ * it has more pairwise disjoint unhit sets than clues left. A clue set that hits every
+ * known set is checked with {@link Solver#findSolutions}; if it has a second solution,
+ * the cells where that solution differs form a new unavoidable set, which is learned
+ * and the search goes on.</p>
+ *
+ * <p>Each branch at the top of a grid's search is a job. Jobs fork their first levels
+ * into tasks on a {@link ForkJoinPool}, whose idle workers steal them, so all cores stay
+ * busy while the last grids finish. A checkpoint file records each finished job with
+ * the puzzles it found, flushed as it finishes, so a run restarted with the same file
+ * skips the work already done.</p>
+ *
+ * <p>Random minimal puzzles are sampled by taking grids from {@link Solver#generateBoard()}
+ * and removing clues in random order while the solution stays unique.</p>
+ *
+ * <p>Usage: {@code --minimal [--from K] [--to K] [--threads N] [--checkpoint FILE]} for
+ * the exhaustive search, which stops at the first clue count with puzzles unless
+ * {@code --to} is given, or {@code --minimal --sample N [--threads N]}. Puzzles go to
+ * standard output, one per line; progress goes to standard error.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class MinimalPuzzleSearch {
+    private static final int SPLIT_DEPTH = 2;
+    private static final int MAX_DIGITS_BLANKED = 3;
+    private static final int MAX_PROBE_SOLUTIONS = 1000;
+    private static final int MAX_SETS = 1024;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final long allCells;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Solver> solvers;
+    private final LongAdder nodeCount = new LongAdder();
+    private final LongAdder checkCount = new LongAdder();
+
+    /**
+     * Constructs a search.
+     *
+     * @param geometry the shape of the boards, at most 64 cells
+     * @param pool the pool the search runs on
+     */
+    public MinimalPuzzleSearch(BoardGeometry geometry, ForkJoinPool pool) {
+        if (geometry.getCellCount() > Long.SIZE) {
+            throw new IllegalArgumentException("Cannot search " + geometry + " boards");
+        }
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.allCells = cells == Long.SIZE ? -1L : (1L << cells) - 1;
+        this.pool = pool;
+        this.solvers = ThreadLocal.withInitial(() -> new Solver(geometry));
+    }
+
+    /**
+     * Entry point of the search.
+     *
+     * @param args the command line arguments, without the leading {@code --minimal}
+     */
+    public static void main(String[] args) {
+        int from = BoardGeometry.SIX.getSize() - 1;
+        int to = Integer.MAX_VALUE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int samples = 0;
+        Path checkpoint = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--from":
+                        from = Integer.parseInt(args[++i]);
+                        break;
+                    case "--to":
+                        to = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--checkpoint":
+                        checkpoint = Paths.get(args[++i]);
+                        break;
+                    case "--sample":
+                        samples = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                }
+            }
+            if (from < 1 || to < from || threads < 1 || samples < 0) {
+                throw new IllegalArgumentException("Clue counts, threads and samples must be positive");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --minimal [--from K] [--to K] [--threads N] [--checkpoint FILE]"
+                    + " | --minimal --sample N [--threads N]");
+            System.exit(2);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            MinimalPuzzleSearch search = new MinimalPuzzleSearch(BoardGeometry.SIX, pool);
+            if (samples > 0) {
+                search.sample(samples);
+            } else {
+                search.findFewestClues(from, to, checkpoint);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Gets the shape of the boards this search works on.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of search nodes visited so far.
+     *
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return nodeCount.sum();
+    }
+
+    /**
+     * Gets the number of clue sets checked for a unique solution so far.
+     *
+     * @return the uniqueness check count
+     */
+    public long getCheckCount() {
+        return checkCount.sum();
+    }
+
+    /**
+     * Lists one grid of each equivalence class, in the canonical form of that class,
+     * sorted so that the order is the same on every run.
+     *
+     * @return the representative grids
+     */
+    public List<int[][]> gridClasses() {
+        int[][] base = new int[size][size];
+        for (int col = 0; col < size; col++) {
+            base[0][col] = col + 1;
+        }
+        BoardCanonicalizer canonicalizer = new BoardCanonicalizer(geometry);
+        int[] canonical = new int[cells];
+        Map<String, int[][]> classes = new TreeMap<>();
+        new Solver(geometry).findSolutions(base, Integer.MAX_VALUE, grid -> {
+            canonicalizer.canonicalize(grid, canonical);
+            int[][] board = new int[size][size];
+            for (int cell = 0; cell < cells; cell++) {
+                board[cell / size][cell % size] = canonical[cell];
+            }
+            classes.putIfAbsent(BoardFormat.formatBoard(board), board);
+        });
+        return new ArrayList<>(classes.values());
+    }
+
+    /**
+     * Finds unavoidable sets of a grid by blanking every pair and triple of digits and
+     * comparing the other solutions with the grid. Supersets of other sets are dropped,
+     * since a clue set that hits a set also hits its supersets.
+     *
+     * @param grid a complete grid
+     * @return cell masks, smallest first, in an order that only depends on the grid
+     */
+    public long[] unavoidableSets(int[][] grid) {
+        Solver solver = solvers.get();
+        List<Long> found = new ArrayList<>();
+        int[][] board = new int[size][size];
+        for (int digits = 1; digits <= geometry.getAllDigits(); digits++) {
+            int count = Integer.bitCount(digits);
+            if (count < 2 || count > MAX_DIGITS_BLANKED) {
+                continue;
+            }
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    board[row][col] = (digits & 1 << (grid[row][col] - 1)) != 0 ? 0 : grid[row][col];
+                }
+            }
+            solver.findSolutions(board, MAX_PROBE_SOLUTIONS, solution -> {
+                long difference = difference(grid, solution);
+                if (difference != 0) {
+                    found.add(difference);
+                }
+            });
+        }
+        found.sort((a, b) -> Long.bitCount(a) != Long.bitCount(b)
+                ? Integer.compare(Long.bitCount(a), Long.bitCount(b)) : Long.compareUnsigned(a, b));
+        long[] sets = new long[found.size()];
+        int kept = 0;
+        for (long set : found) {
+            boolean superset = false;
+            for (int i = 0; i < kept && !superset; i++) {
+                superset = (sets[i] & set) == sets[i];
+            }
+            if (!superset) {
+                sets[kept++] = set;
+            }
+        }
+        return Arrays.copyOf(sets, kept);
+    }
+
+    /**
+     * Tells whether the clues of a grid have a unique solution, and if not, where a
+     * second solution differs from the grid.
+     *
+     * @param grid the complete grid
+     * @param clues the cells given as clues
+     * @return 0 if the solution is unique, or the cells a second solution changes
+     */
+    private long alternative(int[][] grid, long clues) {
+        int[][] board = new int[size][size];
+        for (long rest = clues; rest != 0; rest &= rest - 1) {
+            int cell = Long.numberOfTrailingZeros(rest);
+            board[cell / size][cell % size] = grid[cell / size][cell % size];
+        }
+        long[] difference = new long[1];
+        solvers.get().findSolutions(board, 2, solution -> {
+            long cellsChanged = difference(grid, solution);
+            if (cellsChanged != 0) {
+                difference[0] = cellsChanged;
+            }
+        });
+        return difference[0];
+    }
+
+    private long difference(int[][] grid, int[][] solution) {
+        long cellsChanged = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (grid[cell / size][cell % size] != solution[cell / size][cell % size]) {
+                cellsChanged |= 1L << cell;
+            }
+        }
+        return cellsChanged;
+    }
+
+    /**
+     * Tells whether the clues of a grid form a minimal puzzle: uniquely solvable, and
+     * not once any clue is removed.
+     *
+     * @param grid the complete grid
+     * @param clues the cells given as clues
+     * @return true if the puzzle is minimal
+     */
+    public boolean isMinimal(int[][] grid, long clues) {
+        if (alternative(grid, clues) != 0) {
+            return false;
+        }
+        for (long rest = clues; rest != 0; rest &= rest - 1) {
+            if (alternative(grid, clues & ~(rest & -rest)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reduces a grid to a minimal puzzle by removing clues in random order while the
+     * solution stays unique.
+     *
+     * @param grid a complete grid
+     * @param random the source of the removal order
+     * @return the puzzle (0 for empty cells)
+     */
+    public int[][] minimize(int[][] grid, Random random) {
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            int swap = random.nextInt(i + 1);
+            order[i] = order[swap];
+            order[swap] = i;
+        }
+        long clues = allCells;
+        for (int cell : order) {
+            if (alternative(grid, clues & ~(1L << cell)) == 0) {
+                clues &= ~(1L << cell);
+            }
+        }
+        return puzzle(grid, clues);
+    }
+
+    private int[][] puzzle(int[][] grid, long clues) {
+        int[][] board = new int[size][size];
+        for (long rest = clues; rest != 0; rest &= rest - 1) {
+            int cell = Long.numberOfTrailingZeros(rest);
+            board[cell / size][cell % size] = grid[cell / size][cell % size];
+        }
+        return board;
+    }
+
+    /**
+     * Prints random minimal puzzles and the distribution of their clue counts.
+     *
+     * @param count the number of puzzles
+     */
+    public void sample(int count) {
+        List<ForkJoinTask<int[][]>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(pool.submit(() -> minimize(solvers.get().generateBoard(), ThreadLocalRandom.current())));
+        }
+        Map<Integer, Integer> histogram = new TreeMap<>();
+        for (ForkJoinTask<int[][]> task : tasks) {
+            int[][] puzzle = task.join();
+            int clues = 0;
+            for (int[] row : puzzle) {
+                for (int value : row) {
+                    clues += value != 0 ? 1 : 0;
+                }
+            }
+            histogram.merge(clues, 1, Integer::sum);
+            System.out.println(BoardFormat.formatBoard(puzzle) + "," + clues);
+        }
+        histogram.forEach((clues, puzzles) -> System.err.println(String.format("%d clues: %d minimal puzzles (%.1f%%)",
+                clues, puzzles, 100.0 * puzzles / count)));
+    }
+
+    /**
+     * Searches every grid class for puzzles with {@code from} clues, then one more clue
+     * at a time up to {@code to}, or only until a clue count has puzzles when no bound
+     * is given. The first count with puzzles is the fewest any puzzle can have.
+     *
+     * @param from the first clue count to search
+     * @param to the last clue count to search
+     * @param checkpointFile the file recording finished jobs, or null to keep none
+     * @return the fewest clues found, or -1 if no count up to {@code to} has puzzles
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public int findFewestClues(int from, int to, Path checkpointFile) throws IOException {
+        List<int[][]> grids = gridClasses();
+        System.err.println(grids.size() + " grid classes");
+        List<long[]> sets = new ArrayList<>(grids.size());
+        for (int[][] grid : grids) {
+            sets.add(unavoidableSets(grid));
+        }
+        int fewest = -1;
+        try (Checkpoint checkpoint = new Checkpoint(checkpointFile, geometry)) {
+            for (int clues = from; clues <= to; clues++) {
+                long start = System.nanoTime();
+                long nodes = getNodeCount();
+                long checks = getCheckCount();
+                List<Job> jobs = new ArrayList<>();
+                for (int grid = 0; grid < grids.size(); grid++) {
+                    int branches = Long.bitCount(sets.get(grid)[0]);
+                    for (int branch = 0; branch < branches; branch++) {
+                        if (!checkpoint.isDone(clues, grid, branch)) {
+                            jobs.add(new Job(grids.get(grid), sets.get(grid), clues, grid, branch, checkpoint));
+                        }
+                    }
+                }
+                jobs.forEach(pool::execute);
+                for (Job job : jobs) {
+                    job.join();
+                }
+                List<String> puzzles = checkpoint.getPuzzles(clues);
+                puzzles.forEach(System.out::println);
+                System.err.println(String.format("%d clues: %d minimal puzzles, %d jobs run, %d nodes, %d checks, %.1f s",
+                        clues, puzzles.size(), jobs.size(), getNodeCount() - nodes, getCheckCount() - checks,
+                        (System.nanoTime() - start) / 1e9));
+                if (!puzzles.isEmpty() && fewest < 0) {
+                    fewest = clues;
+                    System.err.println("Fewest clues: " + clues);
+                    if (to == Integer.MAX_VALUE) {
+                        break;
+                    }
+                }
+            }
+        }
+        return fewest;
+    }
+
+    /**
+     * Searches one grid for minimal puzzles with a given number of clues.
+     *
+     * @param grid a complete grid
+     * @param clues the number of clues
+     * @return the puzzles found
+     */
+    public List<int[][]> search(int[][] grid, int clues) {
+        long[] sets = unavoidableSets(grid);
+        List<Job> jobs = new ArrayList<>();
+        for (int branch = 0; branch < Long.bitCount(sets[0]); branch++) {
+            jobs.add(new Job(grid, sets, clues, 0, branch, null));
+        }
+        jobs.forEach(pool::execute);
+        List<int[][]> puzzles = new ArrayList<>();
+        for (Job job : jobs) {
+            job.join();
+            puzzles.addAll(job.found);
+        }
+        return puzzles;
+    }
+
+    /**
+     * Unavoidable sets known to one task. Tasks forked from it get a copy, so sets
+     * learned in one branch are only shared with the branches searched after it on the
+     * same thread.
+     */
+    private static final class SetList {
+        long[] masks;
+        int size;
+
+        SetList(long[] masks, int size) {
+            this.masks = masks;
+            this.size = size;
+        }
+
+        SetList copy() {
+            return new SetList(Arrays.copyOf(masks, Math.max(size + 16, masks.length)), size);
+        }
+
+        /**
+         * Adds a set unless the list is full.
+         *
+         * @return false if the list already holds {@value #MAX_SETS} or more sets
+         */
+        boolean add(long set) {
+            if (size >= MAX_SETS) {
+                return false;
+            }
+            if (size == masks.length) {
+                masks = Arrays.copyOf(masks, Math.min(MAX_SETS, size * 2));
+            }
+            masks[size++] = set;
+            return true;
+        }
+    }
+
+    /**
+     * One branch at the top of a grid's search: clue sets holding the given cell of the
+     * grid's smallest unavoidable set, and none of the cells of that set before it.
+     */
+    private final class Job extends RecursiveAction {
+        final int[][] grid;
+        final long[] sets;
+        final int clues;
+        final int gridIndex;
+        final int branch;
+        final Checkpoint checkpoint;
+        final List<int[][]> found = new ArrayList<>();
+
+        Job(int[][] grid, long[] sets, int clues, int gridIndex, int branch, Checkpoint checkpoint) {
+            this.grid = grid;
+            this.sets = sets;
+            this.clues = clues;
+            this.gridIndex = gridIndex;
+            this.branch = branch;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected void compute() {
+            long first = sets[0];
+            long allowed = allCells;
+            for (int i = 0; i < branch; i++) {
+                allowed &= ~(first & -first);
+                first &= first - 1;
+            }
+            long cell = first & -first;
+            new BranchTask(this, new SetList(sets.clone(), sets.length), cell, allowed & ~cell, clues - 1, 0)
+                    .invoke();
+            if (checkpoint != null) {
+                checkpoint.record(this);
+            }
+        }
+
+        synchronized void report(long chosen) {
+            found.add(puzzle(grid, chosen));
+        }
+    }
+
+    /**
+     * Builds the clue sets below one node, forking a task per branch near the top.
+     */
+    private final class BranchTask extends RecursiveAction {
+        private final Job job;
+        private final SetList sets;
+        private final long chosen;
+        private final long allowed;
+        private final int remaining;
+        private final int depth;
+        private long nodes;
+        private long checks;
+
+        BranchTask(Job job, SetList sets, long chosen, long allowed, int remaining, int depth) {
+            this.job = job;
+            this.sets = sets;
+            this.chosen = chosen;
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            explore(chosen, allowed, remaining, depth);
+            nodeCount.add(nodes);
+            checkCount.add(checks);
+        }
+
+        private void explore(long chosen, long allowed, int remaining, int depth) {
+            while (true) {
+                nodes++;
+                long best = 0;
+                int bestCount = Integer.MAX_VALUE;
+                long covered = 0;
+                int disjoint = 0;
+                for (int i = 0; i < sets.size; i++) {
+                    long set = sets.masks[i];
+                    if ((set & chosen) != 0) {
+                        continue;
+                    }
+                    long open = set & allowed;
+                    if (open == 0) {
+                        return;
+                    }
+                    int count = Long.bitCount(open);
+                    if (count < bestCount) {
+                        best = open;
+                        bestCount = count;
+                    }
+                    if ((open & covered) == 0) {
+                        covered |= open;
+                        disjoint++;
+                    }
+                }
+                if (disjoint > remaining) {
+                    return;
+                }
+                if (best != 0) {
+                    branch(best, chosen, allowed, remaining, depth);
+                    return;
+                }
+
+                // Every known set is hit: either the clues are unique, or the second
+                // solution shows a set they miss
+                checks++;
+                long difference = alternative(job.grid, chosen);
+                if (difference == 0) {
+                    // With clues to spare, every superset has a redundant clue
+                    if (remaining == 0 && isMinimal(job.grid, chosen)) {
+                        job.report(chosen);
+                    }
+                    return;
+                }
+                if (!sets.add(difference)) {
+                    // With the list full, branch on the new set here rather than
+                    // looping back to the same check
+                    long open = difference & allowed;
+                    if (open != 0 && remaining > 0) {
+                        branch(open, chosen, allowed, remaining, depth);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void branch(long cells, long chosen, long allowed, int remaining, int depth) {
+            if (depth < SPLIT_DEPTH) {
+                List<BranchTask> children = new ArrayList<>(Long.bitCount(cells));
+                for (long rest = cells; rest != 0; rest &= rest - 1) {
+                    long cell = rest & -rest;
+                    children.add(new BranchTask(job, sets.copy(), chosen | cell, allowed & ~cell, remaining - 1,
+                            depth + 1));
+                    allowed &= ~cell;
+                }
+                invokeAll(children);
+                return;
+            }
+            for (long rest = cells; rest != 0; rest &= rest - 1) {
+                long cell = rest & -rest;
+                explore(chosen | cell, allowed & ~cell, remaining - 1, depth + 1);
+                allowed &= ~cell;
+            }
+        }
+    }
+
+    /**
+     * Text file of finished jobs. Each job appends a {@code start} line, the puzzles it
+     * found and a {@code done} line, flushed together, so a write cut short leaves a
+     * group without its {@code done} line, which is ignored on resume and run again.
+     */
+    private static final class Checkpoint implements Closeable {
+        private static final String HEADER = "# minimal-puzzle-search ";
+
+        private final Set<String> done = ConcurrentHashMap.newKeySet();
+        private final Map<String, List<String>> puzzles = new ConcurrentHashMap<>();
+        private final BufferedWriter out;
+
+        Checkpoint(Path file, BoardGeometry geometry) throws IOException {
+            if (file == null) {
+                out = null;
+                return;
+            }
+            String header = HEADER + geometry;
+            if (Files.exists(file)) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+                if (!lines.isEmpty() && !lines.get(0).equals(header)) {
+                    throw new IOException("Checkpoint " + file + " is not for " + geometry);
+                }
+                // A job's lines are written together, so only a group from its start line
+                // to its done line counts
+                String groupKey = null;
+                List<String> group = new ArrayList<>();
+                for (String line : lines) {
+                    String[] fields = line.split(" ");
+                    String key = fields.length >= 4 ? key(fields[1], fields[2], fields[3]) : null;
+                    if (fields.length == 4 && fields[0].equals("start")) {
+                        groupKey = key;
+                        group = new ArrayList<>();
+                    } else if (fields.length == 5 && fields[0].equals("puzzle") && key.equals(groupKey)) {
+                        group.add(fields[4]);
+                    } else if (fields.length == 4 && fields[0].equals("done") && key.equals(groupKey)) {
+                        done.add(key);
+                        puzzles.put(key, group);
+                        groupKey = null;
+                    } else {
+                        groupKey = null;
+                    }
+                }
+                System.err.println("Resuming from " + file + ": " + done.size() + " jobs done");
+            }
+            byte[] written = Files.exists(file) ? Files.readAllBytes(file) : new byte[0];
+            out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            if (written.length == 0) {
+                out.write(header);
+                out.newLine();
+            } else if (written[written.length - 1] != '\n') {
+                // End a line torn by a crash, so it stays malformed on its own
+                out.newLine();
+            }
+            out.flush();
+        }
+
+        private static String key(Object clues, Object grid, Object branch) {
+            return clues + " " + grid + " " + branch;
+        }
+
+        boolean isDone(int clues, int grid, int branch) {
+            return done.contains(key(clues, grid, branch));
+        }
+
+        List<String> getPuzzles(int clues) {
+            List<String> result = new ArrayList<>();
+            new TreeMap<>(puzzles).forEach((key, found) -> {
+                if (key.startsWith(clues + " ")) {
+                    result.addAll(found);
+                }
+            });
+            return result;
+        }
+
+        synchronized void record(Job job) {
+            String key = key(job.clues, job.gridIndex, job.branch);
+            List<String> found = new ArrayList<>();
+            for (int[][] puzzle : job.found) {
+                found.add(BoardFormat.formatBoard(puzzle));
+            }
+            puzzles.put(key, found);
+            done.add(key);
+            if (out == null) {
+                return;
+            }
+            try {
+                out.write("start " + key);
+                out.newLine();
+                for (String puzzle : found) {
+                    out.write("puzzle " + key + " " + puzzle);
+                    out.newLine();
+                }
+                out.write("done " + key);
+                out.newLine();
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+}
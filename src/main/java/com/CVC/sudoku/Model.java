@@ -1,10 +1,23 @@
 package com.CVC.sudoku;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * Model class representing the Sudoku game logic and state.
- * Handles the game rules, validation, and board management for the 6x6 Sudoku game.
+ * Handles the game rules, validation, and board management for the Sudoku game.
+ * The board shape is given by a {@link BoardGeometry}; the default is the 6x6 board.
+ *
+ * <p>Alongside the board, the model keeps how many times each digit appears in every
+ * row, column and block, the number of filled cells and the number of conflicts (extra
+ * copies of a digit within a unit). These are updated on every change, so move
+ * validation and the completion checks take constant time.</p>
+ *
+ * <p>Every change made through {@link #setCellValue(int, int, int)} is recorded in a
+ * bounded {@link MoveHistory}, so the last {@value #HISTORY_LIMIT} moves can be undone
+ * and redone in constant time. The board is also kept packed with a {@link BoardCodec},
+ * which makes {@link #snapshot()} a copy of a few words.</p>
  *
  * @author Camilo Vivas Correa
  * @studentID 202439049
@@ -13,70 +26,282 @@ import java.util.Random;
  * @since 2025
  */
 public class Model {
+    /** Number of moves kept for undo. */
+    public static final int HISTORY_LIMIT = 1000;
+
+    private final BoardGeometry geometry;
+    private final int size;
     private int[][] board;
     private boolean[][] fixedCells;
     private Random random;
 
+    // unitCounts[unit * (size + 1) + digit]: rows, then columns, then blocks
+    private final int[] unitCounts;
+    private int filledCount;
+    private int conflictCount;
+
+    private final int[] boxOf;
+    private final BoardCodec codec;
+    private final long[] packed;
+    private final MoveHistory history = new MoveHistory(HISTORY_LIMIT);
+    private IntConsumer changeListener;
+
     /**
-     * Constructs a new Sudoku model and initializes the game board.
+     * Constructs a new Sudoku model and initializes the game board
+     * with a freshly generated 6x6 puzzle of medium difficulty.
      */
     public Model() {
-        board = new int[6][6];
-        fixedCells = new boolean[6][6];
+        this(new PuzzleGenerator().generate(Difficulty.MEDIUM));
+    }
+
+    /**
+     * Constructs a new Sudoku model for a generated puzzle.
+     *
+     * @param puzzle the puzzle whose givens become the fixed cells
+     */
+    public Model(Puzzle puzzle) {
+        this(puzzle.getGeometry(), puzzle.getGivens());
+    }
+
+    /**
+     * Constructs a new Sudoku model for the given board shape and starting puzzle.
+     *
+     * @param geometry the shape of the board
+     * @param puzzle the starting digits (0 for empty), which become fixed cells
+     * @throws IllegalArgumentException if the puzzle does not match the geometry or
+     *         holds a digit outside {@code 0..size}
+     */
+    public Model(BoardGeometry geometry, int[][] puzzle) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        board = new int[size][size];
+        fixedCells = new boolean[size][size];
         random = new Random();
-        initializeGame();
+        unitCounts = new int[3 * size * (size + 1)];
+        boxOf = geometry.cellBoxes();
+        codec = new BoardCodec(geometry);
+        packed = new long[codec.getWords()];
+        initializeGame(puzzle);
+    }
+
+    /**
+     * Constructs a model from a snapshot, such as a saved game: the fixed cells of the
+     * snapshot become the givens and its other digits the player's entries. The move
+     * history starts empty.
+     *
+     * @param snapshot the board and fixed cells to restore
+     * @throws IllegalArgumentException if the snapshot holds a digit outside {@code 0..size}
+     */
+    public Model(BoardSnapshot snapshot) {
+        this(snapshot.getGeometry(), givens(snapshot));
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = snapshot.getCellValue(row, col);
+                if (value > size) {
+                    throw new IllegalArgumentException("Cell value " + value + " out of range");
+                }
+                if (value != 0 && !fixedCells[row][col]) {
+                    place(row, col, value);
+                }
+            }
+        }
+    }
+
+    private static int[][] givens(BoardSnapshot snapshot) {
+        int size = snapshot.getGeometry().getSize();
+        int[][] givens = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (snapshot.isCellFixed(row, col)) {
+                    givens[row][col] = snapshot.getCellValue(row, col);
+                }
+            }
+        }
+        return givens;
     }
 
     /**
-     * Initializes the game board with a predefined starting pattern.
+     * Sets a listener told about every change to a cell, whether by a move, an undo, a
+     * redo or a reset. It receives the change packed as by
+     * {@link MoveHistory#move(int, int, int)}, on the thread that made it.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setChangeListener(IntConsumer listener) {
+        changeListener = listener;
+    }
+
+    /**
+     * Initializes the game board with a starting pattern.
      * Sets up fixed cells that cannot be modified by the player.
+     *
+     * @param puzzle the starting pattern
      */
-    private void initializeGame() {
+    private void initializeGame(int[][] puzzle) {
         // Clear board
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 board[i][j] = 0;
                 fixedCells[i][j] = false;
             }
         }
+        Arrays.fill(unitCounts, 0);
+        filledCount = 0;
+        conflictCount = 0;
 
         // Initial game pattern
-        int[][] initialPattern = {
-                {1, 0, 2, 0, 0, 0},
-                {0, 2, 0, 5, 0, 0},
-                {0, 3, 4, 0, 0, 0},
-                {5, 0, 0, 6, 0, 0},
-                {0, 6, 1, 0, 0, 0},
-                {0, 1, 0, 0, 0, 3}
-        };
+        int[][] initialPattern = puzzle;
+        if (initialPattern.length != size) {
+            throw new IllegalArgumentException("Puzzle does not fit a " + geometry + " board");
+        }
 
         // Apply pattern and mark fixed cells
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
+        for (int i = 0; i < size; i++) {
+            if (initialPattern[i].length != size) {
+                throw new IllegalArgumentException("Puzzle does not fit a " + geometry + " board");
+            }
+            for (int j = 0; j < size; j++) {
+                if (initialPattern[i][j] < 0 || initialPattern[i][j] > size) {
+                    throw new IllegalArgumentException("Cell value " + initialPattern[i][j] + " out of range");
+                }
                 if (initialPattern[i][j] != 0) {
-                    board[i][j] = initialPattern[i][j];
+                    place(i, j, initialPattern[i][j]);
                     fixedCells[i][j] = true;
                 }
             }
         }
+        codec.encode(board, fixedCells, packed, 0);
+        history.clear();
     }
 
     /**
      * Sets a value in the specified cell if the move is valid.
+     * A value of 0 clears the cell, unless it is fixed.
      *
-     * @param row the row index (0-5)
-     * @param col the column index (0-5)
-     * @param value the value to set (1-6)
+     * @param row the row index (0 to N-1)
+     * @param col the column index (0 to N-1)
+     * @param value the value to set (1 to N), or 0 to clear
      * @return true if the move was valid and applied, false otherwise
      */
     public boolean setCellValue(int row, int col, int value) {
-        if (isValidMove(row, col, value)) {
-            board[row][col] = value;
+        if ((value == 0 && !fixedCells[row][col]) || isValidMove(row, col, value)) {
+            int before = board[row][col];
+            if (before != value) {
+                write(row, col, value);
+                history.record(MoveHistory.move(row * size + col, before, value));
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Reverts the last move.
+     *
+     * @return the flat index (row * size + col) of the cell that changed, or -1 if
+     *         there was nothing to undo
+     */
+    public int undo() {
+        int move = history.undo();
+        if (move == MoveHistory.NONE) {
+            return -1;
+        }
+        int cell = MoveHistory.cell(move);
+        write(cell / size, cell % size, MoveHistory.before(move));
+        return cell;
+    }
+
+    /**
+     * Makes the last undone move again.
+     *
+     * @return the flat index (row * size + col) of the cell that changed, or -1 if
+     *         there was nothing to redo
+     */
+    public int redo() {
+        int move = history.redo();
+        if (move == MoveHistory.NONE) {
+            return -1;
+        }
+        int cell = MoveHistory.cell(move);
+        write(cell / size, cell % size, MoveHistory.after(move));
+        return cell;
+    }
+
+    /**
+     * Tells whether there is a move to undo.
+     *
+     * @return true if {@link #undo()} would change a cell
+     */
+    public boolean canUndo() {
+        return history.canUndo();
+    }
+
+    /**
+     * Tells whether there is a move to redo.
+     *
+     * @return true if {@link #redo()} would change a cell
+     */
+    public boolean canRedo() {
+        return history.canRedo();
+    }
+
+    /**
+     * Writes a value into a non-fixed cell without validation or history.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the new value (0 to clear)
+     */
+    private void write(int row, int col, int value) {
+        int before = board[row][col];
+        clear(row, col);
+        if (value != 0) {
+            place(row, col, value);
+        }
+        if (changeListener != null) {
+            changeListener.accept(MoveHistory.move(row * size + col, before, value));
+        }
+    }
+
+    /**
+     * Writes a digit into an empty cell and updates the unit counts.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param value the digit to write (1 to N)
+     */
+    private void place(int row, int col, int value) {
+        board[row][col] = value;
+        codec.setValue(packed, 0, row * size + col, value);
+        filledCount++;
+        conflictCount += unitCounts[countIndex(row, value)]++ > 0 ? 1 : 0;
+        conflictCount += unitCounts[countIndex(size + col, value)]++ > 0 ? 1 : 0;
+        conflictCount += unitCounts[countIndex(2 * size + boxOf[row * size + col], value)]++ > 0 ? 1 : 0;
+    }
+
+    /**
+     * Empties a cell, if filled, and updates the unit counts.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    private void clear(int row, int col) {
+        int value = board[row][col];
+        if (value == 0) {
+            return;
+        }
+        board[row][col] = 0;
+        codec.setValue(packed, 0, row * size + col, 0);
+        filledCount--;
+        conflictCount -= --unitCounts[countIndex(row, value)] > 0 ? 1 : 0;
+        conflictCount -= --unitCounts[countIndex(size + col, value)] > 0 ? 1 : 0;
+        conflictCount -= --unitCounts[countIndex(2 * size + boxOf[row * size + col], value)] > 0 ? 1 : 0;
+    }
+
+    private int countIndex(int unit, int value) {
+        return unit * (size + 1) + value;
+    }
+
     /**
      * Checks if a move is valid according to Sudoku rules.
      *
@@ -86,44 +311,61 @@ public class Model {
      * @return true if the move is valid, false otherwise
      */
     public boolean isValidMove(int row, int col, int value) {
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.get().recordValidation();
+        }
         // Check if cell is fixed
         if (fixedCells[row][col]) return false;
 
         // Check if value is in range
-        if (value < 1 || value > 6) return false;
+        if (value < 1 || value > size) return false;
 
-        // Check row
-        for (int i = 0; i < 6; i++) {
-            if (i != col && board[row][i] == value) return false;
-        }
+        // Occurrences elsewhere in the row, column and block (not counting this cell)
+        int self = board[row][col] == value ? 1 : 0;
+        if (unitCounts[countIndex(row, value)] > self) return false;
+        if (unitCounts[countIndex(size + col, value)] > self) return false;
+        return unitCounts[countIndex(2 * size + boxOf[row * size + col], value)] <= self;
+    }
 
-        // Check column
-        for (int i = 0; i < 6; i++) {
-            if (i != row && board[i][col] == value) return false;
+    /**
+     * Gets the digits that could go in a cell without breaking the rules, given the
+     * rest of the board.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @return a mask with bit {@code d - 1} set for each allowed digit {@code d}, or 0
+     *         for a fixed cell
+     */
+    public int getCandidates(int row, int col) {
+        if (fixedCells[row][col]) {
+            return 0;
         }
-
-        // Check 2x3 block
-        int blockRow = (row / 2) * 2;
-        int blockCol = (col / 3) * 3;
-
-        for (int i = blockRow; i < blockRow + 2; i++) {
-            for (int j = blockCol; j < blockCol + 3; j++) {
-                if (i != row && j != col && board[i][j] == value) return false;
+        int rowBase = countIndex(row, 0);
+        int colBase = countIndex(size + col, 0);
+        int boxBase = countIndex(2 * size + boxOf[row * size + col], 0);
+        int current = board[row][col];
+        int mask = 0;
+        for (int value = 1; value <= size; value++) {
+            int self = current == value ? 1 : 0;
+            if (unitCounts[rowBase + value] <= self && unitCounts[colBase + value] <= self
+                    && unitCounts[boxBase + value] <= self) {
+                mask |= 1 << (value - 1);
             }
         }
-
-        return true;
+        return mask;
     }
 
     /**
-     * Provides a valid suggestion for an empty cell.
+     * Provides a valid suggestion for an empty cell: the smallest digit that does not
+     * break the rules, which is not necessarily the digit of the solution. The
+     * {@link HintProvider} gives hints that are.
      *
      * @param row the row index of the cell
      * @param col the column index of the cell
      * @return a valid number suggestion, or 0 if no valid suggestion exists
      */
     public int getHelp(int row, int col) {
-        for (int num = 1; num <= 6; num++) {
+        for (int num = 1; num <= size; num++) {
             if (isValidMove(row, col, num)) {
                 return num;
             }
@@ -137,17 +379,7 @@ public class Model {
      * @return true if the board is complete and correct, false otherwise
      */
     public boolean isCompleteAndCorrect() {
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
-                if (board[i][j] == 0) {
-                    return false; // Empty cells
-                }
-                if (!isValidMove(i, j, board[i][j]) && !fixedCells[i][j]) {
-                    return false; // Invalid numbers
-                }
-            }
-        }
-        return true;
+        return filledCount == size * size && conflictCount == 0;
     }
 
     /**
@@ -156,14 +388,35 @@ public class Model {
      * @return true if all cells have values, false otherwise
      */
     public boolean isComplete() {
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
-                if (board[i][j] == 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return filledCount == size * size;
+    }
+
+    /**
+     * Gets the number of conflicts on the board: for every row, column and block,
+     * the copies of a digit beyond the first.
+     *
+     * @return the conflict count (0 for a board that follows the rules)
+     */
+    public int getConflictCount() {
+        return conflictCount;
+    }
+
+    /**
+     * Gets the shape of this board.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the side length of the board, which is also the largest digit.
+     *
+     * @return the number of rows (and columns) of the board
+     */
+    public int getSize() {
+        return size;
     }
 
     /**
@@ -191,22 +444,36 @@ public class Model {
     /**
      * Gets a copy of the current game board.
      *
-     * @return a 6x6 array representing the current board state
+     * @return an NxN array representing the current board state
      */
     public int[][] getBoard() {
-        return board.clone();
+        int[][] copy = new int[size][];
+        for (int i = 0; i < size; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Takes an immutable snapshot of the board and its fixed cells.
+     *
+     * @return the snapshot
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(codec, packed);
     }
 
     /**
-     * Resets the board by clearing all non-fixed cells.
+     * Resets the board by clearing all non-fixed cells. The move history is cleared too.
      */
     public void resetBoard() {
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
-                if (!fixedCells[i][j]) {
-                    board[i][j] = 0;
+        history.clear();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (!fixedCells[i][j] && board[i][j] != 0) {
+                    write(i, j, 0);
                 }
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.CVC.sudoku;
+
+/**
+ * Bounded undo/redo history of single-cell moves.
+ *
+ * <p>Each move is packed into one int (the cell, the value before and the value after)
+ * and kept in a fixed ring buffer, so recording, undoing and redoing are constant-time
+ * and never allocate. When the buffer is full, recording a move drops the oldest one.
+ * Recording a move after some undos discards the moves that could have been redone.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class MoveHistory {
+    /** Returned by {@link #undo()} and {@link #redo()} when there is no move. */
+    public static final int NONE = -1;
+
+    private final int[] moves;
+    private int start;
+    private int undoable;
+    private int redoable;
+
+    /**
+     * Constructs an empty history.
+     *
+     * @param capacity the largest number of moves kept
+     */
+    public MoveHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        moves = new int[capacity];
+    }
+
+    /**
+     * Packs a move into an int.
+     *
+     * @param cell the flat cell index (row * size + col), below 32768
+     * @param before the value before the move
+     * @param after the value after the move
+     * @return the packed move
+     */
+    public static int move(int cell, int before, int after) {
+        return cell << 16 | before << 8 | after;
+    }
+
+    /**
+     * Gets the cell of a packed move.
+     *
+     * @param move the packed move
+     * @return the flat cell index
+     */
+    public static int cell(int move) {
+        return move >>> 16;
+    }
+
+    /**
+     * Gets the value a packed move replaced.
+     *
+     * @param move the packed move
+     * @return the value before the move
+     */
+    public static int before(int move) {
+        return move >>> 8 & 0xFF;
+    }
+
+    /**
+     * Gets the value a packed move wrote.
+     *
+     * @param move the packed move
+     * @return the value after the move
+     */
+    public static int after(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Records a move that has just been made.
+     *
+     * @param move the packed move
+     */
+    public void record(int move) {
+        if (undoable == moves.length) {
+            start = (start + 1) % moves.length;
+            undoable--;
+        }
+        moves[(start + undoable) % moves.length] = move;
+        undoable++;
+        redoable = 0;
+    }
+
+    /**
+     * Steps back over the last move.
+     *
+     * @return the packed move to revert, or {@link #NONE}
+     */
+    public int undo() {
+        if (undoable == 0) {
+            return NONE;
+        }
+        undoable--;
+        redoable++;
+        return moves[(start + undoable) % moves.length];
+    }
+
+    /**
+     * Steps forward over the last undone move.
+     *
+     * @return the packed move to make again, or {@link #NONE}
+     */
+    public int redo() {
+        if (redoable == 0) {
+            return NONE;
+        }
+        int move = moves[(start + undoable) % moves.length];
+        undoable++;
+        redoable--;
+        return move;
+    }
+
+    /**
+     * Tells whether there is a move to undo.
+     *
+     * @return true if {@link #undo()} would return a move
+     */
+    public boolean canUndo() {
+        return undoable > 0;
+    }
+
+    /**
+     * Tells whether there is a move to redo.
+     *
+     * @return true if {@link #redo()} would return a move
+     */
+    public boolean canRedo() {
+        return redoable > 0;
+    }
+
+    /**
+     * Forgets every move.
+     */
+    public void clear() {
+        start = 0;
+        undoable = 0;
+        redoable = 0;
+    }
+}
@@ -0,0 +1,170 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Hash set of packed boards, each a fixed number of {@code long} words (see
+ * {@link BoardCodec}), used to deduplicate large puzzle corpora.
+ *
+ * <p>Entries are appended to one growing {@code long[]} in insertion order, and an
+ * open-addressing table with linear probing maps hashes to entry numbers, so the set
+ * holds no object per board and never boxes a key. With the table at most half full,
+ * a 6x6 board costs three words of entry storage plus about eight bytes of table.</p>
+ *
+ * <p>A set is not thread-safe.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PackedBoardSet {
+    private static final int MIN_TABLE = 16;
+
+    private final int words;
+    private long[] entries;
+    // slots[i] holds entry number + 1, or 0 for a free slot
+    private int[] slots;
+    private int size;
+
+    /**
+     * Constructs an empty set.
+     *
+     * @param words the number of words per packed board
+     * @param expected the number of boards expected, to size the storage up front
+     */
+    public PackedBoardSet(int words, int expected) {
+        if (words < 1) {
+            throw new IllegalArgumentException("Words per board must be positive");
+        }
+        this.words = words;
+        this.entries = new long[Math.max(1, expected) * words];
+        this.slots = new int[tableSizeFor(expected)];
+    }
+
+    /**
+     * Adds a packed board unless an equal one is already present.
+     *
+     * @param key the array holding the packed board
+     * @param offset the index of its first word
+     * @return true if the board was not present and has been added
+     */
+    public boolean add(long[] key, int offset) {
+        int mask = slots.length - 1;
+        int slot = hash(key, offset) & mask;
+        while (slots[slot] != 0) {
+            if (matches(slots[slot] - 1, key, offset)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * words > entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(entries.length * 2, (size + 1) * words));
+        }
+        System.arraycopy(key, offset, entries, size * words, words);
+        slots[slot] = ++size;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether an equal packed board is present.
+     *
+     * @param key the array holding the packed board
+     * @param offset the index of its first word
+     * @return true if the board is in the set
+     */
+    public boolean contains(long[] key, int offset) {
+        int mask = slots.length - 1;
+        int slot = hash(key, offset) & mask;
+        while (slots[slot] != 0) {
+            if (matches(slots[slot] - 1, key, offset)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of distinct boards added.
+     *
+     * @return the set size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of words per packed board.
+     *
+     * @return the words per entry
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Copies one stored board out, in insertion order.
+     *
+     * @param index the entry number (0 to size-1)
+     * @param dest the array to write to
+     * @param offset the index of the first word to write
+     */
+    public void get(int index, long[] dest, int offset) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + size);
+        }
+        System.arraycopy(entries, index * words, dest, offset, words);
+    }
+
+    /**
+     * Removes every board, keeping the allocated storage.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private boolean matches(int entry, long[] key, int offset) {
+        int base = entry * words;
+        for (int i = 0; i < words; i++) {
+            if (entries[base + i] != key[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash(int tableSize) {
+        int[] newSlots = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hash(entries, entry * words) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = entry + 1;
+        }
+        slots = newSlots;
+    }
+
+    private int hash(long[] key, int offset) {
+        long h = 0;
+        for (int i = 0; i < words; i++) {
+            h = (h + key[offset + i]) * 0x9E3779B97F4A7C15L;
+        }
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expected) {
+        long wanted = Math.max(MIN_TABLE, 2L * expected);
+        if (wanted > 1 << 30) {
+            throw new IllegalArgumentException("Too many boards: " + expected);
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+}
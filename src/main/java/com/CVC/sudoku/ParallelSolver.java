@@ -0,0 +1,317 @@
+package com.CVC.sudoku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Sudoku solver that splits the search tree across a {@link ForkJoinPool}.
+ *
+ * <p>Near the root, a task branches on the empty cell with the fewest candidates and
+ * forks one subtask per candidate digit, each with its own copy of the board. Once the
+ * product of the branching factors on a path reaches about sixteen tasks per worker,
+ * the subtree is searched by a {@link Solver} owned by the worker thread. Workers share
+ * an atomic solution counter and a stop flag, which the sequential searches poll, so a
+ * run ends shortly after its limit is reached.</p>
+ *
+ * <p>Unlike the other strategies, a parallel solver may be shared between threads.
+ * Actions passed to {@link #findSolutions(int[][], int, Consumer)} are called from
+ * worker threads, one at a time.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class ParallelSolver implements SudokuSolver {
+    private static final int TASKS_PER_WORKER = 16;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final ForkJoinPool pool;
+    private final long splitWidth;
+    private final ThreadLocal<Solver> workerSolvers;
+    private final LongAdder nodeCount = new LongAdder();
+
+    /**
+     * Constructs a parallel solver for the classic 6x6 board on the common pool.
+     */
+    public ParallelSolver() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a parallel solver on the common pool.
+     *
+     * @param geometry the shape of the boards this solver works on
+     */
+    public ParallelSolver(BoardGeometry geometry) {
+        this(geometry, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a parallel solver on the given pool.
+     *
+     * @param geometry the shape of the boards this solver works on
+     * @param pool the pool whose workers run the search
+     */
+    public ParallelSolver(BoardGeometry geometry, ForkJoinPool pool) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.pool = pool;
+        this.splitWidth = (long) pool.getParallelism() * TASKS_PER_WORKER;
+        this.workerSolvers = ThreadLocal.withInitial(() -> new Solver(geometry));
+    }
+
+    @Override
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the pool this solver runs on.
+     *
+     * @return the fork-join pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        Run run = new Run(1, null);
+        run.firstSolution = new AtomicReference<>();
+        execute(board, run);
+        int[][] solution = run.firstSolution.get();
+        if (solution == null) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(solution[i], 0, board[i], 0, size);
+        }
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return (int) countSolutions(board, (long) limit);
+    }
+
+    /**
+     * Counts the solutions of a board, stopping once {@code limit} are found.
+     * The board is left unchanged.
+     *
+     * @param board the board to examine (0 for empty cells)
+     * @param limit the number of solutions after which counting stops
+     * @return the number of solutions found, at most {@code limit}
+     */
+    public long countSolutions(int[][] board, long limit) {
+        Run run = new Run(limit, null);
+        execute(board, run);
+        return Math.min(run.found.get(), limit);
+    }
+
+    @Override
+    public int findSolutions(int[][] board, int limit, Consumer<int[][]> action) {
+        Run run = new Run(limit, action);
+        execute(board, run);
+        return (int) Math.min(run.found.get(), limit);
+    }
+
+    @Override
+    public long getNodeCount() {
+        return nodeCount.sum();
+    }
+
+    private void execute(int[][] board, Run run) {
+        if (run.limit <= 0 || !isConsistent(board)) {
+            return;
+        }
+        pool.invoke(new SearchTask(copy(board), 1, run));
+    }
+
+    /**
+     * Checks that no digit repeats in a row, column or block of a board.
+     *
+     * @param board the board to check
+     * @return true if the givens do not conflict
+     */
+    private boolean isConsistent(int[][] board) {
+        int[] unitMask = new int[3 * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = board[row][col];
+                if (value == 0) {
+                    continue;
+                }
+                if (value < 0 || value > size) {
+                    return false;
+                }
+                int bit = 1 << (value - 1);
+                int box = 2 * size + geometry.getBox(row, col);
+                if (((unitMask[row] | unitMask[size + col] | unitMask[box]) & bit) != 0) {
+                    return false;
+                }
+                unitMask[row] |= bit;
+                unitMask[size + col] |= bit;
+                unitMask[box] |= bit;
+            }
+        }
+        return true;
+    }
+
+    private int[][] copy(int[][] board) {
+        int[][] result = new int[size][];
+        for (int i = 0; i < size; i++) {
+            result[i] = board[i].clone();
+        }
+        return result;
+    }
+
+    /**
+     * State shared by all tasks of one parallel search.
+     */
+    private static final class Run {
+        final long limit;
+        final Consumer<int[][]> action;
+        final AtomicLong found = new AtomicLong();
+        final AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<int[][]> firstSolution;
+
+        Run(long limit, Consumer<int[][]> action) {
+            this.limit = limit;
+            this.action = action;
+        }
+
+        long remaining() {
+            return limit - found.get();
+        }
+    }
+
+    /**
+     * Searches the subtree below one partial board, forking near the root.
+     */
+    private final class SearchTask extends RecursiveAction {
+        private final int[][] board;
+        private final long width;
+        private final Run run;
+
+        SearchTask(int[][] board, long width, Run run) {
+            this.board = board;
+            this.width = width;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            if (run.stop.get()) {
+                return;
+            }
+            if (width >= splitWidth) {
+                searchLeaf();
+                return;
+            }
+
+            // Branch on the empty cell with the fewest candidates
+            int bestRow = -1;
+            int bestCol = -1;
+            int bestCandidates = 0;
+            int bestCount = size + 1;
+            for (int row = 0; row < size && bestCount > 1; row++) {
+                for (int col = 0; col < size && bestCount > 1; col++) {
+                    if (board[row][col] != 0) {
+                        continue;
+                    }
+                    int candidates = candidates(row, col);
+                    int count = Integer.bitCount(candidates);
+                    if (count < bestCount) {
+                        bestRow = row;
+                        bestCol = col;
+                        bestCandidates = candidates;
+                        bestCount = count;
+                    }
+                }
+            }
+            if (bestRow < 0 || bestCount == 1) {
+                // Complete board, or a forced cell not worth a task of its own
+                searchLeaf();
+                return;
+            }
+            if (bestCount == 0) {
+                return;
+            }
+
+            List<SearchTask> subtasks = new ArrayList<>(bestCount);
+            for (int options = bestCandidates; options != 0; options &= options - 1) {
+                int[][] child = copy(board);
+                child[bestRow][bestCol] = Integer.numberOfTrailingZeros(options) + 1;
+                subtasks.add(new SearchTask(child, width * bestCount, run));
+            }
+            invokeAll(subtasks);
+        }
+
+        private int candidates(int row, int col) {
+            int used = 0;
+            int[] peerStart = geometry.peerStart();
+            int[] peers = geometry.peers();
+            int cell = row * size + col;
+            for (int i = peerStart[cell]; i < peerStart[cell + 1]; i++) {
+                int peer = peers[i];
+                used |= digitBit(board[peer / size][peer % size]);
+            }
+            return ~used & geometry.getAllDigits();
+        }
+
+        private int digitBit(int value) {
+            return value == 0 ? 0 : 1 << (value - 1);
+        }
+
+        private void searchLeaf() {
+            long remaining = run.remaining();
+            if (remaining <= 0) {
+                run.stop.set(true);
+                return;
+            }
+
+            Solver solver = workerSolvers.get();
+            long nodesBefore = solver.getNodeCount();
+            solver.setCancellation(run.stop);
+            try {
+                if (run.firstSolution != null) {
+                    if (solver.solve(board) && run.firstSolution.compareAndSet(null, board)) {
+                        run.found.incrementAndGet();
+                        run.stop.set(true);
+                    }
+                } else if (run.action != null) {
+                    solver.findSolutions(board, (int) Math.min(remaining, Integer.MAX_VALUE), this::deliver);
+                } else {
+                    int found = solver.countSolutions(board, (int) Math.min(remaining, Integer.MAX_VALUE));
+                    if (run.found.addAndGet(found) >= run.limit) {
+                        run.stop.set(true);
+                    }
+                }
+            } finally {
+                solver.setCancellation(null);
+                nodeCount.add(solver.getNodeCount() - nodesBefore);
+            }
+        }
+
+        private void deliver(int[][] solution) {
+            synchronized (run) {
+                if (run.found.get() < run.limit) {
+                    run.action.accept(solution);
+                    if (run.found.incrementAndGet() >= run.limit) {
+                        run.stop.set(true);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.CVC.sudoku;
+
+/**
+ * A generated Sudoku puzzle: its given digits together with its unique solution.
+ * The arrays are owned by the puzzle; the getters return copies.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class Puzzle {
+    private final BoardGeometry geometry;
+    private final int[][] givens;
+    private final int[][] solution;
+    private final int clueCount;
+
+    /**
+     * Constructs a puzzle.
+     *
+     * @param geometry the shape of the board
+     * @param givens the given digits (0 for empty cells)
+     * @param solution the unique solution of the givens
+     */
+    public Puzzle(BoardGeometry geometry, int[][] givens, int[][] solution) {
+        this.geometry = geometry;
+        this.givens = copy(givens);
+        this.solution = copy(solution);
+        int clues = 0;
+        for (int[] row : givens) {
+            for (int value : row) {
+                if (value != 0) {
+                    clues++;
+                }
+            }
+        }
+        this.clueCount = clues;
+    }
+
+    /**
+     * Gets the shape of the board.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the given digits.
+     *
+     * @return a copy of the givens (0 for empty cells)
+     */
+    public int[][] getGivens() {
+        return copy(givens);
+    }
+
+    /**
+     * Gets the unique solution.
+     *
+     * @return a copy of the solved board
+     */
+    public int[][] getSolution() {
+        return copy(solution);
+    }
+
+    /**
+     * Gets the number of given digits.
+     *
+     * @return the clue count
+     */
+    public int getClueCount() {
+        return clueCount;
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] result = new int[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            result[i] = board[i].clone();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,266 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Read-only view of a puzzle database file, memory-mapped so that any puzzle can be
+ * fetched in constant time without reading the file into the heap.
+ *
+ * <p>The file starts with a {@value #HEADER_SIZE}-byte little-endian header:</p>
+ * <pre>
+ *   0  int    magic "SDKB"
+ *   4  short  format version (1)
+ *   6  byte   block rows
+ *   7  byte   block columns
+ *   8  int    record size in bytes
+ *  12  int    number of difficulty buckets
+ *  16  long[] first record and record count of each bucket, in {@link Difficulty} order
+ * </pre>
+ * <p>Fixed-size records follow, grouped by bucket. A record holds the givens and the
+ * solution as {@link BoardCodec} value words, the difficulty score as an int and the
+ * clue count as a short, padded to a multiple of eight bytes (40 bytes for 6x6).
+ * Files are written by {@link PuzzleDatabaseBuilder}.</p>
+ *
+ * <p>Files larger than 2 GiB are mapped in several segments, each holding a whole
+ * number of records. Reads use absolute positions only, so a database may be shared
+ * between threads.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PuzzleDatabase implements AutoCloseable {
+    /** System property naming a database file the game should serve puzzles from. */
+    public static final String PROPERTY = "sudoku.database";
+
+    static final int MAGIC = 0x424B4453;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private final FileChannel channel;
+    private final BoardGeometry geometry;
+    private final BoardCodec codec;
+    private final int recordSize;
+    private final int solutionOffset;
+    private final int scoreOffset;
+    private final long recordCount;
+    private final int recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final Map<Difficulty, long[]> buckets = new EnumMap<>(Difficulty.class);
+
+    private PuzzleDatabase(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a puzzle database");
+        }
+        if (header.getShort(4) != VERSION) {
+            throw new IOException("Unsupported puzzle database version " + header.getShort(4));
+        }
+        this.geometry = BoardGeometry.of(header.get(6), header.get(7));
+        this.codec = new BoardCodec(geometry);
+        this.recordSize = header.getInt(8);
+        this.solutionOffset = codec.getValueWords() * Long.BYTES;
+        this.scoreOffset = 2 * solutionOffset;
+        if (recordSize != recordSize(codec)) {
+            throw new IOException("Unexpected record size " + recordSize);
+        }
+        int bucketCount = header.getInt(12);
+        if (bucketCount != Difficulty.values().length) {
+            throw new IOException("Unexpected bucket count " + bucketCount);
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            int at = 16 + 16 * difficulty.ordinal();
+            buckets.put(difficulty, new long[] {header.getLong(at), header.getLong(at + 8)});
+        }
+
+        this.recordCount = (channel.size() - HEADER_SIZE) / recordSize;
+        this.recordsPerSegment = Integer.MAX_VALUE / recordSize;
+        int segmentCount = (int) ((recordCount + recordsPerSegment - 1) / recordsPerSegment);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long first = (long) i * recordsPerSegment;
+            long count = Math.min(recordsPerSegment, recordCount - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * recordSize,
+                    count * recordSize);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Opens and maps a database file.
+     *
+     * @param path the database file
+     * @return the opened database
+     * @throws IOException if the file cannot be read or is not a puzzle database
+     */
+    public static PuzzleDatabase open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new PuzzleDatabase(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the record size for a board shape.
+     *
+     * @param codec the codec of the board shape
+     * @return the record size in bytes
+     */
+    static int recordSize(BoardCodec codec) {
+        int unpadded = 2 * codec.getValueWords() * Long.BYTES + Integer.BYTES + Short.BYTES;
+        return (unpadded + 7) & ~7;
+    }
+
+    /**
+     * Gets the shape of the puzzles in this database.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of puzzles in the database.
+     *
+     * @return the record count
+     */
+    public long getCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the number of puzzles of one difficulty.
+     *
+     * @param difficulty the difficulty bucket
+     * @return the record count of that bucket
+     */
+    public long getCount(Difficulty difficulty) {
+        return buckets.get(difficulty)[1];
+    }
+
+    /**
+     * Gets the database index of the i-th puzzle of a difficulty bucket.
+     *
+     * @param difficulty the difficulty bucket
+     * @param i the index within the bucket
+     * @return the index within the whole database
+     */
+    public long indexOf(Difficulty difficulty, long i) {
+        long[] bucket = buckets.get(difficulty);
+        if (i < 0 || i >= bucket[1]) {
+            throw new IndexOutOfBoundsException("Puzzle " + i + " of " + bucket[1] + " " + difficulty);
+        }
+        return bucket[0] + i;
+    }
+
+    /**
+     * Reads the givens of a puzzle into a caller-owned board.
+     *
+     * @param index the puzzle index within the database
+     * @param board receives the givens (0 for empty cells)
+     */
+    public void readGivens(long index, int[][] board) {
+        codec.decodeValues(segment(index), position(index), board);
+    }
+
+    /**
+     * Reads the solution of a puzzle into a caller-owned board.
+     *
+     * @param index the puzzle index within the database
+     * @param board receives the solution
+     */
+    public void readSolution(long index, int[][] board) {
+        codec.decodeValues(segment(index), position(index) + solutionOffset, board);
+    }
+
+    /**
+     * Gets the difficulty score of a puzzle; higher is harder.
+     *
+     * @param index the puzzle index within the database
+     * @return the score stored by the builder
+     */
+    public int getScore(long index) {
+        return segment(index).getInt(position(index) + scoreOffset);
+    }
+
+    /**
+     * Gets the clue count of a puzzle.
+     *
+     * @param index the puzzle index within the database
+     * @return the number of givens
+     */
+    public int getClueCount(long index) {
+        return segment(index).getShort(position(index) + scoreOffset + Integer.BYTES);
+    }
+
+    /**
+     * Reads a whole puzzle.
+     *
+     * @param index the puzzle index within the database
+     * @return the puzzle
+     */
+    public Puzzle get(long index) {
+        int size = geometry.getSize();
+        int[][] givens = new int[size][size];
+        int[][] solution = new int[size][size];
+        readGivens(index, givens);
+        readSolution(index, solution);
+        return new Puzzle(geometry, givens, solution);
+    }
+
+    /**
+     * Picks a random puzzle of a difficulty.
+     *
+     * @param difficulty the difficulty bucket
+     * @param random the source of randomness
+     * @return a puzzle, or null if the bucket is empty
+     */
+    public Puzzle random(Difficulty difficulty, Random random) {
+        long count = getCount(difficulty);
+        if (count == 0) {
+            return null;
+        }
+        long i = count <= Integer.MAX_VALUE ? random.nextInt((int) count) : Math.floorMod(random.nextLong(), count);
+        return get(indexOf(difficulty, i));
+    }
+
+    /**
+     * Closes the file. Mapped buffers stay valid until they are garbage collected.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer segment(long index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + recordCount);
+        }
+        return segments[(int) (index / recordsPerSegment)];
+    }
+
+    private int position(long index) {
+        return (int) (index % recordsPerSegment) * recordSize;
+    }
+}
@@ -0,0 +1,308 @@
+package com.CVC.sudoku;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes a {@link PuzzleDatabase} file from a stream of puzzles.
+ *
+ * <p>Records are appended to one temporary file per difficulty bucket as they arrive,
+ * so memory use does not depend on the number of puzzles. Closing the builder writes
+ * the header and copies the buckets after it in {@link Difficulty} order. A puzzle's
+ * bucket is the difficulty of its {@link Grade}, set by the hardest technique it
+ * needs, so a few clues more or less do not move it.</p>
+ *
+ * <p>Usage: {@code --build-db <output> <input>} reads puzzles in the single-line format
+ * of {@link BatchSolver}, keeping those with a unique solution and scoring them with
+ * the {@link LogicalSolver}'s grade; {@code --build-db <output> --generate N}
+ * generates N puzzles instead, aiming at the clue count of each difficulty level in
+ * turn. They are still bucketed by grade, so the buckets need not come out even: on
+ * 6x6, where singles solve most puzzles, nearly all land in {@code EASY}.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PuzzleDatabaseBuilder implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path output;
+    private final BoardGeometry geometry;
+    private final BoardCodec codec;
+    private final int recordSize;
+    private final Map<Difficulty, Path> bucketFiles = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, FileChannel> bucketChannels = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, ByteBuffer> bucketBuffers = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, Long> bucketCounts = new EnumMap<>(Difficulty.class);
+    private boolean closed;
+
+    /**
+     * Constructs a builder writing to the given file.
+     *
+     * @param output the database file to create
+     * @param geometry the shape of the puzzles
+     * @throws IOException if the temporary bucket files cannot be created
+     */
+    public PuzzleDatabaseBuilder(Path output, BoardGeometry geometry) throws IOException {
+        this.output = output;
+        this.geometry = geometry;
+        this.codec = new BoardCodec(geometry);
+        this.recordSize = PuzzleDatabase.recordSize(codec);
+        Path directory = output.toAbsolutePath().getParent();
+        for (Difficulty difficulty : Difficulty.values()) {
+            Path file = Files.createTempFile(directory, "puzzles-" + difficulty.name().toLowerCase(), ".tmp");
+            bucketFiles.put(difficulty, file);
+            bucketChannels.put(difficulty, FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            bucketBuffers.put(difficulty, ByteBuffer.allocateDirect(BUFFER_SIZE - BUFFER_SIZE % recordSize)
+                    .order(ByteOrder.LITTLE_ENDIAN));
+            bucketCounts.put(difficulty, 0L);
+        }
+    }
+
+    /**
+     * Entry point of the database builder.
+     *
+     * @param args the command line arguments, without the leading {@code --build-db}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || (args[1].equals("--generate") && args.length != 3)
+                || (!args[1].equals("--generate") && args.length != 2)) {
+            System.err.println("Usage: --build-db <output> <input> | --build-db <output> --generate N");
+            System.exit(2);
+            return;
+        }
+        long start = System.nanoTime();
+        long[] counts;
+        try {
+            Path output = Paths.get(args[0]);
+            counts = args[1].equals("--generate")
+                    ? generate(output, BoardGeometry.SIX, Long.parseLong(args[2]))
+                    : build(output, Paths.get(args[1]));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.println(String.format("Wrote %d puzzles in %.3f s (%.0f puzzles/sec), skipped %d",
+                counts[0], seconds, seconds > 0 ? counts[0] / seconds : 0.0, counts[1]));
+    }
+
+    /**
+     * Builds a database from a puzzle file, keeping the puzzles with a unique solution.
+     * The board size is taken from the first puzzle; lines of another size are skipped.
+     *
+     * @param output the database file to create
+     * @param input the puzzle file
+     * @return the number of puzzles written and the number skipped
+     * @throws IOException if reading or writing fails
+     */
+    public static long[] build(Path output, Path input) throws IOException {
+        long written = 0;
+        long skipped = 0;
+        PuzzleDatabaseBuilder builder = null;
+        LogicalSolver solver = null;
+        int[][] board = null;
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String token = line.trim().split("[ \t,;]", 2)[0];
+                if (token.isEmpty() || token.startsWith("#")) {
+                    continue;
+                }
+                if (builder == null) {
+                    BoardGeometry geometry = token.length() == 81 ? BoardGeometry.NINE : BoardGeometry.SIX;
+                    builder = new PuzzleDatabaseBuilder(output, geometry);
+                    solver = new LogicalSolver(geometry);
+                    board = new int[geometry.getSize()][geometry.getSize()];
+                }
+                if (!parse(token, board)) {
+                    skipped++;
+                    continue;
+                }
+                int[][] givens = copy(board);
+                Grade grade = solver.solve(board);
+                if (grade == null || !grade.isUnique()) {
+                    skipped++;
+                    continue;
+                }
+                builder.add(givens, board, grade);
+                written++;
+            }
+        } finally {
+            if (builder != null) {
+                builder.close();
+            }
+        }
+        return new long[] {written, skipped};
+    }
+
+    /**
+     * Builds a database of freshly generated puzzles.
+     *
+     * @param output the database file to create
+     * @param geometry the shape of the puzzles
+     * @param count the number of puzzles to generate
+     * @return the number of puzzles written and the number skipped (always 0)
+     * @throws IOException if writing fails
+     */
+    public static long[] generate(Path output, BoardGeometry geometry, long count) throws IOException {
+        PuzzleGenerator generator = new PuzzleGenerator(geometry);
+        LogicalSolver solver = new LogicalSolver(geometry);
+        Difficulty[] levels = Difficulty.values();
+        try (PuzzleDatabaseBuilder builder = new PuzzleDatabaseBuilder(output, geometry)) {
+            for (long i = 0; i < count; i++) {
+                Puzzle puzzle = generator.generate(levels[(int) (i % levels.length)]);
+                builder.add(puzzle, solver.grade(puzzle.getGivens()));
+            }
+        }
+        return new long[] {count, 0};
+    }
+
+    /**
+     * Appends a puzzle.
+     *
+     * @param puzzle the puzzle to store
+     * @param grade its grade, which gives the bucket and the score
+     * @throws IOException if writing fails
+     */
+    public void add(Puzzle puzzle, Grade grade) throws IOException {
+        add(puzzle.getGivens(), puzzle.getSolution(), grade);
+    }
+
+    /**
+     * Appends a puzzle given as its givens and solution.
+     *
+     * @param givens the given digits (0 for empty cells)
+     * @param solution the unique solution
+     * @param grade its grade, which gives the bucket and the score
+     * @throws IOException if writing fails
+     */
+    public void add(int[][] givens, int[][] solution, Grade grade) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Builder is closed");
+        }
+        int clues = 0;
+        for (int[] row : givens) {
+            for (int value : row) {
+                if (value != 0) {
+                    clues++;
+                }
+            }
+        }
+        Difficulty difficulty = grade.getDifficulty();
+        ByteBuffer buffer = bucketBuffers.get(difficulty);
+        int position = buffer.position();
+        codec.encodeValues(givens, buffer, position);
+        codec.encodeValues(solution, buffer, position + codec.getValueWords() * Long.BYTES);
+        int scoreAt = position + 2 * codec.getValueWords() * Long.BYTES;
+        buffer.putInt(scoreAt, grade.getScore());
+        buffer.putShort(scoreAt + Integer.BYTES, (short) clues);
+        for (int i = scoreAt + Integer.BYTES + Short.BYTES; i < position + recordSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(position + recordSize);
+        bucketCounts.merge(difficulty, 1L, Long::sum);
+        if (!buffer.hasRemaining()) {
+            flush(difficulty);
+        }
+    }
+
+    /**
+     * Writes the header, joins the buckets into the output file and removes the
+     * temporary files.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(PuzzleDatabase.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(PuzzleDatabase.MAGIC);
+            header.putShort(PuzzleDatabase.VERSION);
+            header.put((byte) geometry.getBoxRows());
+            header.put((byte) geometry.getBoxCols());
+            header.putInt(recordSize);
+            header.putInt(Difficulty.values().length);
+            long first = 0;
+            for (Difficulty difficulty : Difficulty.values()) {
+                long count = bucketCounts.get(difficulty);
+                header.putLong(first);
+                header.putLong(count);
+                first += count;
+            }
+            header.clear();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+
+            for (Difficulty difficulty : Difficulty.values()) {
+                flush(difficulty);
+                FileChannel bucket = bucketChannels.get(difficulty);
+                long size = bucket.size();
+                long copied = 0;
+                while (copied < size) {
+                    copied += bucket.transferTo(copied, size - copied, out);
+                }
+            }
+        } finally {
+            for (Difficulty difficulty : Difficulty.values()) {
+                bucketChannels.get(difficulty).close();
+                Files.deleteIfExists(bucketFiles.get(difficulty));
+            }
+        }
+    }
+
+    private void flush(Difficulty difficulty) throws IOException {
+        ByteBuffer buffer = bucketBuffers.get(difficulty);
+        FileChannel channel = bucketChannels.get(difficulty);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean parse(String token, int[][] board) {
+        int size = board.length;
+        if (token.length() != size * size) {
+            return false;
+        }
+        for (int cell = 0; cell < token.length(); cell++) {
+            char c = token.charAt(cell);
+            if (c == '.' || c == '0') {
+                board[cell / size][cell % size] = 0;
+            } else if (c >= '1' && c <= '0' + size) {
+                board[cell / size][cell % size] = c - '0';
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] result = new int[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            result[i] = board[i].clone();
+        }
+        return result;
+    }
+}
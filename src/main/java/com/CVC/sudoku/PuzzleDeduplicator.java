@@ -0,0 +1,178 @@
+package com.CVC.sudoku;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Headless mode that removes duplicate puzzles from a puzzle file, treating puzzles that
+ * differ only by a Sudoku symmetry (see {@link BoardCanonicalizer}) as duplicates.
+ *
+ * <p>The input uses the same single-line format as {@link BatchSolver}. Each puzzle is
+ * canonicalized, packed with a {@link BoardCodec} and looked up in a
+ * {@link PackedBoardSet}; the first line of every class is copied to the output
+ * unchanged. Lines that are not a 6x6 or 9x9 puzzle are dropped and counted.</p>
+ *
+ * <p>Usage: {@code --dedup <input> [output]}; without an output file, the unique lines
+ * go to standard output. A summary is printed to standard error at the end.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PuzzleDeduplicator {
+    private static final int EXPECTED_PUZZLES = 1 << 16;
+
+    private final Map<BoardGeometry, Context> contexts = new HashMap<>();
+    private long read;
+    private long unique;
+    private long invalid;
+
+    /**
+     * Entry point of the dedup mode.
+     *
+     * @param args the command line arguments, without the leading {@code --dedup}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: --dedup <input> [output]");
+            System.exit(2);
+            return;
+        }
+        try {
+            PuzzleDeduplicator deduplicator = new PuzzleDeduplicator();
+            long start = System.nanoTime();
+            deduplicator.run(Paths.get(args[0]), args.length > 1 ? Paths.get(args[1]) : null);
+            deduplicator.printSummary(System.err, System.nanoTime() - start);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Copies the first puzzle of every symmetry class from the input to the output.
+     *
+     * @param input the puzzle file
+     * @param output the result file, or null for standard output
+     * @throws IOException if reading or writing fails
+     */
+    public void run(Path input, Path output) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             Writer out = output == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII))
+                     : Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String token = puzzleToken(line);
+                if (token == null) {
+                    continue;
+                }
+                read++;
+                if (add(token)) {
+                    unique++;
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints the totals of a run.
+     *
+     * @param out the stream to print to
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void printSummary(PrintStream out, long nanos) {
+        double seconds = nanos / 1e9;
+        out.println(String.format("Read %d puzzles in %.3f s (%.0f puzzles/sec): unique %d, duplicate %d, invalid %d",
+                read, seconds, seconds > 0 ? read / seconds : 0.0, unique, read - unique - invalid, invalid));
+    }
+
+    /**
+     * Canonicalizes one puzzle and records it.
+     *
+     * @param token the puzzle characters
+     * @return true if no equivalent puzzle was seen before
+     */
+    private boolean add(String token) {
+        BoardGeometry geometry = token.length() == 36 ? BoardGeometry.SIX
+                : token.length() == 81 ? BoardGeometry.NINE : null;
+        if (geometry == null) {
+            invalid++;
+            return false;
+        }
+        Context context = contexts.computeIfAbsent(geometry, Context::new);
+        int size = geometry.getSize();
+        for (int cell = 0; cell < token.length(); cell++) {
+            char c = token.charAt(cell);
+            int value;
+            if (c == '.' || c == '0') {
+                value = 0;
+            } else if (c >= '1' && c <= '0' + size) {
+                value = c - '0';
+            } else {
+                invalid++;
+                return false;
+            }
+            context.board[cell / size][cell % size] = value;
+        }
+        context.canonicalizer.canonicalize(context.board, context.canonical);
+        context.codec.encode(context.canonical, context.key, 0);
+        return context.seen.add(context.key, 0);
+    }
+
+    /**
+     * Extracts the puzzle token of a line, skipping blank and comment lines.
+     *
+     * @param line the raw line
+     * @return the puzzle characters, or null if the line holds no puzzle
+     */
+    private static String puzzleToken(String line) {
+        int start = 0;
+        while (start < line.length() && (line.charAt(start) == ' ' || line.charAt(start) == '\t')) {
+            start++;
+        }
+        if (start == line.length() || line.charAt(start) == '#') {
+            return null;
+        }
+        int end = start;
+        while (end < line.length() && " \t,;\r".indexOf(line.charAt(end)) < 0) {
+            end++;
+        }
+        return line.substring(start, end);
+    }
+
+    /**
+     * Scratch state and seen set for one board size.
+     */
+    private static final class Context {
+        final BoardCanonicalizer canonicalizer;
+        final BoardCodec codec;
+        final PackedBoardSet seen;
+        final int[][] board;
+        final int[] canonical;
+        final long[] key;
+
+        Context(BoardGeometry geometry) {
+            canonicalizer = new BoardCanonicalizer(geometry);
+            codec = new BoardCodec(geometry);
+            seen = new PackedBoardSet(codec.getWords(), EXPECTED_PUZZLES);
+            board = new int[geometry.getSize()][geometry.getSize()];
+            canonical = new int[geometry.getCellCount()];
+            key = new long[codec.getWords()];
+        }
+    }
+}
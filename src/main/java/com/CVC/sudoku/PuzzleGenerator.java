@@ -0,0 +1,145 @@
+package com.CVC.sudoku;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Generates Sudoku puzzles with a unique solution.
+ * Starts from a complete board produced by {@link Solver#generateBoard()} and removes
+ * clues in random order, keeping a removal only while a solution count capped at two
+ * still finds exactly one solution.
+ *
+ * <p>A generator reuses its solver, so it is not thread-safe; use one per thread.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PuzzleGenerator {
+    private final Solver solver;
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int[] order;
+    private final Random random;
+
+    /**
+     * Constructs a generator for the classic 6x6 board.
+     */
+    public PuzzleGenerator() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a generator for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards to generate
+     */
+    public PuzzleGenerator(BoardGeometry geometry) {
+        this.solver = new Solver(geometry);
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.order = new int[geometry.getCellCount()];
+        this.random = new Random();
+    }
+
+    /**
+     * Gets the geometry of the boards this generator produces.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Sets a point in time after which generation gives up.
+     *
+     * @param deadlineNanos the deadline, in {@link System#nanoTime()} units
+     */
+    void setDeadline(long deadlineNanos) {
+        solver.setDeadline(deadlineNanos);
+    }
+
+    /**
+     * Removes the deadline set by {@link #setDeadline(long)}.
+     */
+    void clearDeadline() {
+        solver.clearDeadline();
+    }
+
+    /**
+     * Generates a puzzle aiming for the clue count of a difficulty level.
+     *
+     * @param difficulty the difficulty level
+     * @return a new puzzle with a unique solution
+     * @throws CancellationException if the deadline passes first
+     */
+    public Puzzle generate(Difficulty difficulty) {
+        return generate(difficulty.getTargetClues(geometry));
+    }
+
+    /**
+     * Generates a puzzle with at most the given number of clues where possible.
+     * If every clue left is needed for uniqueness before the target is reached,
+     * the puzzle keeps more clues than asked for.
+     *
+     * @param targetClues the number of clues to stop at
+     * @return a new puzzle with a unique solution
+     * @throws CancellationException if the deadline passes first
+     */
+    public Puzzle generate(int targetClues) {
+        GenerateEvent event = new GenerateEvent();
+        event.begin();
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        int[][] solution = solver.generateBoard();
+        int[][] puzzle = new int[size][];
+        for (int i = 0; i < size; i++) {
+            puzzle[i] = solution[i].clone();
+        }
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        int clues = order.length;
+        int checks = 0;
+        for (int i = 0; i < order.length && clues > targetClues; i++) {
+            int row = order[i] / size;
+            int col = order[i] % size;
+            int value = puzzle[row][col];
+            puzzle[row][col] = 0;
+            checks++;
+            int solutions = solver.countSolutions(puzzle, 2);
+            if (solver.isExhausted()) {
+                // A count cut short does not show that the puzzle is still unique
+                throw new CancellationException("Puzzle generation ran past its deadline");
+            }
+            if (solutions == 1) {
+                clues--;
+            } else {
+                puzzle[row][col] = value;
+            }
+        }
+
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.get().recordGenerated(System.nanoTime() - start, solver.getGridAttempts(), checks);
+        }
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.clues = clues;
+            event.targetClues = targetClues;
+            event.gridAttempts = solver.getGridAttempts();
+            event.uniquenessChecks = checks;
+            event.commit();
+        }
+        return new Puzzle(geometry, puzzle, solution);
+    }
+}
@@ -0,0 +1,226 @@
+package com.CVC.sudoku;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of pre-generated puzzles, kept per difficulty level so a new game can
+ * start without waiting for the generator.
+ *
+ * <p>A low-priority daemon thread tops every bucket up to its capacity and then sleeps
+ * until a puzzle is taken. {@link #take(Difficulty)} hands out a ready puzzle when one
+ * is available (a hit) and otherwise generates one on the calling thread (a miss).
+ * The pool records hits, misses and the time the background thread spends per puzzle.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class PuzzlePool implements AutoCloseable {
+    private final BoardGeometry geometry;
+    private final int capacity;
+    private final Map<Difficulty, ArrayBlockingQueue<Puzzle>> buckets = new EnumMap<>(Difficulty.class);
+    private final PuzzleGenerator fallbackGenerator;
+    private final Object refillSignal = new Object();
+    private final Thread refiller;
+    private volatile boolean running;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refills = new AtomicLong();
+    private final AtomicLong refillNanos = new AtomicLong();
+    private final AtomicLong maxRefillNanos = new AtomicLong();
+
+    /**
+     * Constructs a pool for the classic 6x6 board.
+     *
+     * @param capacity the number of puzzles kept ready per difficulty
+     */
+    public PuzzlePool(int capacity) {
+        this(BoardGeometry.SIX, capacity);
+    }
+
+    /**
+     * Constructs a pool. The background refill starts with {@link #start()}.
+     *
+     * @param geometry the shape of the puzzles to keep
+     * @param capacity the number of puzzles kept ready per difficulty
+     */
+    public PuzzlePool(BoardGeometry geometry, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.geometry = geometry;
+        this.capacity = capacity;
+        for (Difficulty difficulty : Difficulty.values()) {
+            buckets.put(difficulty, new ArrayBlockingQueue<>(capacity));
+        }
+        this.fallbackGenerator = new PuzzleGenerator(geometry);
+        this.refiller = new Thread(this::refillLoop, "puzzle-pool-refill");
+        refiller.setDaemon(true);
+        refiller.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Starts the background refill thread.
+     */
+    public void start() {
+        running = true;
+        refiller.start();
+    }
+
+    /**
+     * Takes a puzzle of the given difficulty, generating it on the calling thread if
+     * none is ready.
+     *
+     * @param difficulty the difficulty level
+     * @return a puzzle with a unique solution
+     */
+    public Puzzle take(Difficulty difficulty) {
+        Puzzle puzzle = buckets.get(difficulty).poll();
+        if (puzzle != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            synchronized (fallbackGenerator) {
+                puzzle = fallbackGenerator.generate(difficulty);
+            }
+        }
+        synchronized (refillSignal) {
+            refillSignal.notifyAll();
+        }
+        return puzzle;
+    }
+
+    /**
+     * Gets the number of puzzles ready for a difficulty.
+     *
+     * @param difficulty the difficulty level
+     * @return the number of puzzles in that bucket
+     */
+    public int getReadyCount(Difficulty difficulty) {
+        return buckets.get(difficulty).size();
+    }
+
+    /**
+     * Gets the shape of the puzzles in this pool.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of puzzles kept ready per difficulty.
+     *
+     * @return the bucket capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of takes served from a ready puzzle.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of takes that had to generate a puzzle on the calling thread.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of puzzles generated by the background thread.
+     *
+     * @return the refill count
+     */
+    public long getRefills() {
+        return refills.get();
+    }
+
+    /**
+     * Gets the average time the background thread took to generate one puzzle.
+     *
+     * @return the mean refill latency in nanoseconds, or 0 before the first refill
+     */
+    public long getAverageRefillNanos() {
+        long count = refills.get();
+        return count == 0 ? 0 : refillNanos.get() / count;
+    }
+
+    /**
+     * Gets the longest time the background thread took to generate one puzzle.
+     *
+     * @return the maximum refill latency in nanoseconds
+     */
+    public long getMaxRefillNanos() {
+        return maxRefillNanos.get();
+    }
+
+    /**
+     * Stops the background refill thread. Puzzles can still be taken afterwards.
+     */
+    @Override
+    public void close() {
+        running = false;
+        refiller.interrupt();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PuzzlePool[hits=%d, misses=%d, refills=%d, avgRefill=%d us, maxRefill=%d us]",
+                getHits(), getMisses(), getRefills(), getAverageRefillNanos() / 1000, getMaxRefillNanos() / 1000);
+    }
+
+    private void refillLoop() {
+        PuzzleGenerator generator = new PuzzleGenerator(geometry);
+        try {
+            while (running) {
+                boolean added = false;
+                for (Difficulty difficulty : Difficulty.values()) {
+                    ArrayBlockingQueue<Puzzle> bucket = buckets.get(difficulty);
+                    if (bucket.remainingCapacity() > 0) {
+                        long start = System.nanoTime();
+                        Puzzle puzzle = generator.generate(difficulty);
+                        long elapsed = System.nanoTime() - start;
+                        refills.incrementAndGet();
+                        refillNanos.addAndGet(elapsed);
+                        maxRefillNanos.accumulateAndGet(elapsed, Math::max);
+                        added |= bucket.offer(puzzle);
+                    }
+                }
+                if (!added) {
+                    synchronized (refillSignal) {
+                        while (running && isFull()) {
+                            refillSignal.wait();
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isFull() {
+        for (ArrayBlockingQueue<Puzzle> bucket : buckets.values()) {
+            if (bucket.remainingCapacity() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,590 @@
+package com.CVC.sudoku;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Store for a very large number of live games, such as a server hosting a million
+ * players, without an object per game.
+ *
+ * <p>Every resident game takes one slot of a shared {@code long[]}: its board and fixed
+ * cells packed with a {@link BoardCodec} (three words for 6x6), followed by a word
+ * holding the access tick and the owning session, so that touching a game reads one
+ * slot and one session entry and nothing else. Freed slots are reused. When every slot
+ * is taken, the least recently used of a small random sample of slots is written to a
+ * spill file of fixed-size records and its slot is handed over; the game comes back
+ * into a slot the next time it is touched. Sampling keeps eviction constant-time and
+ * needs no linked list, at the price of evicting a nearly rather than exactly least
+ * recently used game. A 6x6 game costs 48 bytes of heap in all, a spilled game 12.</p>
+ *
+ * <p>Games are named by {@code long} session handles. A handle carries a generation,
+ * so a handle kept after {@link #remove(long)} is rejected instead of reaching the game
+ * that reused its number. The validation methods mirror those of {@link Model} and work
+ * on the packed words in place. A store is not thread-safe: a multi-threaded host gives
+ * each thread its own store and routes every session to the store that created it.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class SessionStore implements AutoCloseable {
+    private static final int FREE = Integer.MIN_VALUE;
+    private static final int EVICTION_SAMPLES = 8;
+    private static final int BATCH = 64;
+
+    private final BoardGeometry geometry;
+    private final BoardCodec codec;
+    private final int size;
+    private final int cells;
+    private final int words;
+    private final int stride;
+    private final int[] peerStart;
+    private final int[] peers;
+    private final long cellMask;
+
+    /**
+     * Packed boards, {@code stride} words per slot: the board, then the access tick in
+     * the high half and the session index in the low half.
+     */
+    private final long[] slotWords;
+    private final int[] freeSlots;
+    private int freeSlotCount;
+
+    /**
+     * Generation of each session in the high half, and in the low half its slot,
+     * {@code -(record + 1)} when spilled, or {@link #FREE}.
+     */
+    private final long[] sessions;
+    private final int[] freeIds;
+    private int freeIdCount;
+
+    private final FileChannel spill;
+    private final ByteBuffer record;
+    private int[] freeRecords = new int[16];
+    private int freeRecordCount;
+    private int recordCount;
+
+    private final int[] batchSlots = new int[BATCH];
+    private long touched;
+
+    private int clock;
+    private int random = 0x9E3779B9;
+    private int sessionCount;
+    private int spilledCount;
+    private long evictions;
+    private long reloads;
+
+    /**
+     * Constructs a store. The spill file is created, or emptied if it exists, and is
+     * deleted when the store is closed.
+     *
+     * @param geometry the shape of the boards
+     * @param slots the number of games kept in memory
+     * @param maxSessions the number of games the store can hold, in memory or spilled
+     * @param spillFile the file idle games are written to when every slot is taken
+     * @throws IOException if the spill file cannot be created
+     */
+    public SessionStore(BoardGeometry geometry, int slots, int maxSessions, Path spillFile) throws IOException {
+        if (slots < 1 || maxSessions < slots) {
+            throw new IllegalArgumentException("Slots must be positive and at most maxSessions");
+        }
+        this.geometry = geometry;
+        this.codec = new BoardCodec(geometry);
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.words = codec.getWords();
+        this.stride = words + 1;
+        this.peerStart = geometry.peerStart();
+        this.peers = buildPeers();
+        this.cellMask = (1L << codec.getBitsPerCell()) - 1;
+
+        slotWords = new long[Math.multiplyExact(slots, stride)];
+        freeSlots = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            freeSlots[slot] = slots - 1 - slot;
+        }
+        freeSlotCount = slots;
+
+        sessions = new long[maxSessions];
+        freeIds = new int[maxSessions];
+        for (int id = 0; id < maxSessions; id++) {
+            sessions[id] = FREE & 0xFFFFFFFFL;
+            freeIds[id] = maxSessions - 1 - id;
+        }
+        freeIdCount = maxSessions;
+
+        spill = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DELETE_ON_CLOSE);
+        record = ByteBuffer.allocate(words * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * The peers of the geometry, each stored as the index of its value word shifted
+     * left by 6, plus its bit position in that word, which {@code >>>} masks to the
+     * low 6 bits.
+     */
+    private int[] buildPeers() {
+        int[] cellsOfPeers = geometry.peers();
+        int bits = codec.getBitsPerCell();
+        int perWord = 64 / bits;
+        int[] table = new int[cellsOfPeers.length];
+        for (int i = 0; i < table.length; i++) {
+            int other = cellsOfPeers[i];
+            table[i] = other / perWord << 6 | other % perWord * bits;
+        }
+        return table;
+    }
+
+    /**
+     * Starts a game whose non-empty cells are all fixed, such as a puzzle's givens.
+     *
+     * @param givens the starting board (0 for empty cells)
+     * @return the handle of the new session
+     * @throws IllegalStateException if the store is full
+     * @throws UncheckedIOException if an idle game cannot be spilled to make room
+     */
+    public long create(int[][] givens) {
+        if (givens.length != size || givens[0].length != size) {
+            throw new IllegalArgumentException("Board is not " + size + "x" + size);
+        }
+        checkCapacity();
+        int slot = allocateSlot();
+        codec.encode(givens, slotWords, slot * stride);
+        return attach(slot);
+    }
+
+    /**
+     * Moves a game into the store, such as one restored from a save.
+     *
+     * @param snapshot the board and fixed cells of the game
+     * @return the handle of the new session
+     * @throws IllegalStateException if the store is full
+     * @throws UncheckedIOException if an idle game cannot be spilled to make room
+     */
+    public long create(BoardSnapshot snapshot) {
+        if (!snapshot.getGeometry().equals(geometry)) {
+            throw new IllegalArgumentException("Snapshot is " + snapshot.getGeometry() + ", not " + geometry);
+        }
+        checkCapacity();
+        int slot = allocateSlot();
+        snapshot.copyWords(slotWords, slot * stride);
+        return attach(slot);
+    }
+
+    private void checkCapacity() {
+        if (freeIdCount == 0) {
+            throw new IllegalStateException("Session store is full (" + sessions.length + " sessions)");
+        }
+    }
+
+    private long attach(int slot) {
+        int id = freeIds[--freeIdCount];
+        long handle = sessions[id] & ~0xFFFFFFFFL | id;
+        place(id, slot);
+        sessionCount++;
+        return handle;
+    }
+
+    /**
+     * Records that a session lives in a slot, keeping its generation, and marks the
+     * slot as used.
+     */
+    private void place(int id, int slot) {
+        sessions[id] = sessions[id] & ~0xFFFFFFFFL | slot;
+        slotWords[slot * stride + words] = (long) ++clock << 32 | id;
+    }
+
+    /**
+     * Ends a session, freeing its slot or its spill record.
+     *
+     * @param session the handle of the session
+     * @throws IllegalArgumentException if the session does not exist
+     */
+    public void remove(long session) {
+        int id = id(session);
+        int where = (int) sessions[id];
+        if (where >= 0) {
+            freeSlots[freeSlotCount++] = where;
+        } else {
+            releaseRecord(-where - 1);
+            spilledCount--;
+        }
+        sessions[id] = (session >>> 32) + 1 << 32 | FREE & 0xFFFFFFFFL;
+        freeIds[freeIdCount++] = id;
+        sessionCount--;
+    }
+
+    /**
+     * Tells whether a handle names a live session.
+     *
+     * @param session the handle to check
+     * @return true if the session exists
+     */
+    public boolean contains(long session) {
+        int id = (int) session;
+        if (id < 0 || id >= sessions.length) {
+            return false;
+        }
+        long state = sessions[id];
+        return (int) state != FREE && state >>> 32 == session >>> 32;
+    }
+
+    /**
+     * Checks if a move is valid according to Sudoku rules, as
+     * {@link Model#isValidMove(int, int, int)} does.
+     *
+     * <p>A single check waits for its session entry and then for its board to come
+     * from main memory, so once the store outgrows the cache it slows down: on 6x6, a
+     * million sessions check about 5M moves a second against 23M for ten thousand.
+     * A host checking many moves should pass them to {@link #validateMoves}, which
+     * overlaps those waits.</p>
+     *
+     * @param session the handle of the session
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @param value the value to check
+     * @return true if the move is valid, false otherwise
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public boolean isValidMove(long session, int row, int col, int value) {
+        return isValidMove(slotOf(session) * stride, row * size + col, value);
+    }
+
+    /**
+     * Checks many moves at once, each as {@link #isValidMove(long, int, int, int)}
+     * would. With many sessions, most of the cost of a single check is waiting for
+     * its session and board to come from main memory, one after the other; checking
+     * a batch loads the boards of up to {@value #BATCH} moves together before looking
+     * at any of them, so the waits overlap.
+     *
+     * @param handles the session of each move
+     * @param cells the flat cell index (row * size + col) of each move
+     * @param values the value of each move
+     * @param count the number of moves
+     * @param results receives whether each move is valid
+     * @throws IllegalArgumentException if a session does not exist
+     * @throws UncheckedIOException if a game cannot be read back from the spill file
+     */
+    public void validateMoves(long[] handles, int[] cells, int[] values, int count, boolean[] results) {
+        for (int from = 0; from < count; from += BATCH) {
+            int n = Math.min(BATCH, count - from);
+            for (int i = 0; i < n; i++) {
+                batchSlots[i] = slotOf(handles[from + i]);
+            }
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += slotWords[batchSlots[i] * stride];
+            }
+            touched = sum;
+            for (int i = 0; i < n; i++) {
+                int slot = batchSlots[i];
+                if ((int) sessions[(int) handles[from + i]] != slot) {
+                    // Spilled again by a reload later in the batch
+                    slot = slotOf(handles[from + i]);
+                }
+                results[from + i] = isValidMove(slot * stride, cells[from + i], values[from + i]);
+            }
+        }
+    }
+
+    private boolean isValidMove(int base, int cell, int value) {
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.get().recordValidation();
+        }
+        if (codec.isFixed(slotWords, base, cell) || value < 1 || value > size) {
+            return false;
+        }
+        for (int i = peerStart[cell], end = peerStart[cell + 1]; i < end; i++) {
+            int peer = peers[i];
+            if ((slotWords[base + (peer >>> 6)] >>> peer & cellMask) == value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets a value in a cell if the move is valid, as
+     * {@link Model#setCellValue(int, int, int)} does. A value of 0 clears the cell,
+     * unless it is fixed.
+     *
+     * @param session the handle of the session
+     * @param row the row index (0 to N-1)
+     * @param col the column index (0 to N-1)
+     * @param value the value to set (1 to N), or 0 to clear
+     * @return true if the move was valid and applied, false otherwise
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public boolean setCellValue(long session, int row, int col, int value) {
+        int base = slotOf(session) * stride;
+        int cell = row * size + col;
+        if ((value == 0 && !codec.isFixed(slotWords, base, cell)) || isValidMove(base, cell, value)) {
+            codec.setValue(slotWords, base, cell, value);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value in a cell.
+     *
+     * @param session the handle of the session
+     * @param row the row index
+     * @param col the column index
+     * @return the value in the cell (0 if empty)
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public int getCellValue(long session, int row, int col) {
+        return codec.getValue(slotWords, slotOf(session) * stride, row * size + col);
+    }
+
+    /**
+     * Checks if a cell is fixed.
+     *
+     * @param session the handle of the session
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell is fixed
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public boolean isCellFixed(long session, int row, int col) {
+        return codec.isFixed(slotWords, slotOf(session) * stride, row * size + col);
+    }
+
+    /**
+     * Checks if all cells of a game are filled (regardless of correctness).
+     *
+     * @param session the handle of the session
+     * @return true if all cells have values
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public boolean isComplete(long session) {
+        int base = slotOf(session) * stride;
+        for (int cell = 0; cell < cells; cell++) {
+            if (codec.getValue(slotWords, base, cell) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a game is completely filled and follows all Sudoku rules.
+     *
+     * @param session the handle of the session
+     * @return true if the board is complete and correct
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public boolean isCompleteAndCorrect(long session) {
+        int base = slotOf(session) * stride;
+        int[] units = geometry.unitCells();
+        int all = geometry.getAllDigits();
+        for (int start = 0; start < units.length; start += size) {
+            int seen = 0;
+            for (int i = start; i < start + size; i++) {
+                int value = codec.getValue(slotWords, base, units[i]);
+                if (value == 0) {
+                    return false;
+                }
+                seen |= 1 << (value - 1);
+            }
+            if (seen != all) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies a game out of the store, for instance to play it on with a {@link Model}.
+     *
+     * @param session the handle of the session
+     * @return the board and fixed cells of the game
+     * @throws UncheckedIOException if the game cannot be read back from the spill file
+     */
+    public BoardSnapshot snapshot(long session) {
+        int base = slotOf(session) * stride;
+        return new BoardSnapshot(codec, Arrays.copyOfRange(slotWords, base, base + words));
+    }
+
+    /**
+     * Finds the slot of a session, bringing it back from the spill file if needed, and
+     * marks it as used.
+     */
+    private int slotOf(long session) {
+        int id = id(session);
+        int slot = (int) sessions[id];
+        if (slot < 0) {
+            int spilled = -slot - 1;
+            slot = allocateSlot();
+            try {
+                readRecord(spilled, slot);
+            } catch (UncheckedIOException e) {
+                freeSlots[freeSlotCount++] = slot;
+                throw e;
+            }
+            releaseRecord(spilled);
+            spilledCount--;
+            reloads++;
+        }
+        place(id, slot);
+        return slot;
+    }
+
+    private int id(long session) {
+        if (!contains(session)) {
+            throw new IllegalArgumentException("Unknown session " + Long.toHexString(session));
+        }
+        return (int) session;
+    }
+
+    /**
+     * Takes a free slot or, when there is none, spills the idlest of a few random slots
+     * and takes its place.
+     */
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        int slots = freeSlots.length;
+        int victim = -1;
+        int oldest = -1;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            random ^= random << 13;
+            random ^= random >>> 17;
+            random ^= random << 5;
+            int slot = (random >>> 1) % slots;
+            int age = clock - (int) (slotWords[slot * stride + words] >>> 32);
+            if (age > oldest) {
+                oldest = age;
+                victim = slot;
+            }
+        }
+        int spilled = freeRecordCount > 0 ? freeRecords[--freeRecordCount] : recordCount++;
+        writeRecord(victim, spilled);
+        int owner = (int) slotWords[victim * stride + words];
+        sessions[owner] = sessions[owner] & ~0xFFFFFFFFL | -spilled - 1 & 0xFFFFFFFFL;
+        spilledCount++;
+        evictions++;
+        return victim;
+    }
+
+    private void writeRecord(int slot, int spilled) {
+        record.clear();
+        for (int i = 0; i < words; i++) {
+            record.putLong(slotWords[slot * stride + i]);
+        }
+        record.flip();
+        try {
+            long position = (long) spilled * record.capacity();
+            while (record.hasRemaining()) {
+                position += spill.write(record, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill a session", e);
+        }
+    }
+
+    private void readRecord(int spilled, int slot) {
+        record.clear();
+        try {
+            long position = (long) spilled * record.capacity();
+            while (record.hasRemaining()) {
+                int read = spill.read(record, position);
+                if (read < 0) {
+                    throw new IOException("Spill file is truncated");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read back a spilled session", e);
+        }
+        record.flip();
+        for (int i = 0; i < words; i++) {
+            slotWords[slot * stride + i] = record.getLong();
+        }
+    }
+
+    private void releaseRecord(int spilled) {
+        if (freeRecordCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeRecordCount * 2);
+        }
+        freeRecords[freeRecordCount++] = spilled;
+    }
+
+    /**
+     * Gets the shape of the boards in this store.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of live sessions, in memory or spilled.
+     *
+     * @return the session count
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the number of sessions currently in the spill file.
+     *
+     * @return the spilled session count
+     */
+    public int getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Gets the number of times a game was spilled to make room.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of times a spilled game was read back into a slot.
+     *
+     * @return the reload count
+     */
+    public long getReloadCount() {
+        return reloads;
+    }
+
+    /**
+     * Gets the heap taken by the arrays of this store, which is fixed at construction
+     * apart from the list of free spill records.
+     *
+     * @return the size in bytes, not counting array headers
+     */
+    public long getHeapBytes() {
+        return (long) slotWords.length * Long.BYTES
+                + (long) sessions.length * Long.BYTES
+                + ((long) freeSlots.length + freeIds.length + freeRecords.length) * Integer.BYTES
+                + (long) peers.length * Integer.BYTES;
+    }
+
+    /**
+     * Closes and deletes the spill file. Spilled games are lost.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        spill.close();
+    }
+}
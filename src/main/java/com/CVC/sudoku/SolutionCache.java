@@ -0,0 +1,523 @@
+package com.CVC.sudoku;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache from boards to their solutions, so that boards solved again (for
+ * every hint, every verification, every reopened game) skip the search.
+ *
+ * <p>Keys and solutions are the value words of the {@link BoardCodec}, two longs for a
+ * 6x6 board, held in flat {@code long[]} arrays with an open-addressing table as in
+ * {@link PackedBoardSet}, so the cache holds no object per board and never boxes a
+ * key. A board without a solution is cached too, as unsolvable. The cache is split
+ * into segments by hash, each behind its own lock and holding its share of the
+ * capacity; a segment that is full evicts its least recently used board, tracked with
+ * a doubly linked list over entry numbers.</p>
+ *
+ * <p>A board that is a puzzle partly filled in can also be looked up by its fixed
+ * cells: the solution of the original puzzle, cached once, answers every position of
+ * the game whose entries agree with it. When they do not, the board itself is
+ * solved.</p>
+ *
+ * <p>A cache may be shared between threads.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class SolutionCache {
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENTS = 64;
+
+    private final BoardGeometry geometry;
+    private final BoardCodec codec;
+    private final int size;
+    private final int words;
+    private final int capacity;
+    private final Segment[] segments;
+    private final ThreadLocal<long[]> scratch;
+    private final ThreadLocal<Solver> solvers;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder givensHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param geometry the shape of the boards
+     * @param capacity the most boards to keep
+     */
+    public SolutionCache(BoardGeometry geometry, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.geometry = geometry;
+        this.codec = new BoardCodec(geometry);
+        this.size = geometry.getSize();
+        this.words = codec.getValueWords();
+        this.capacity = capacity;
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors()));
+        while (count > 1 && capacity / count < MIN_SEGMENT_CAPACITY) {
+            count >>= 1;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder so the capacities add up to exactly the total
+            segments[i] = new Segment(words, capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        int packed = codec.getWords();
+        this.scratch = ThreadLocal.withInitial(() -> new long[2 * packed]);
+        this.solvers = ThreadLocal.withInitial(() -> new Solver(geometry));
+    }
+
+    /**
+     * Gets the shape of the boards this cache holds.
+     *
+     * @return the board geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Gets the number of words of a key or a solution, the value words of the
+     * {@link BoardCodec}.
+     *
+     * @return the words per key
+     */
+    public int getKeyWords() {
+        return words;
+    }
+
+    /**
+     * Gets the most boards this cache keeps.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of boards held.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.count;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups not in the cache.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of partly filled boards answered from the cached solution of
+     * their fixed cells.
+     *
+     * @return the count of answers read through the givens
+     */
+    public long getGivensHitCount() {
+        return givensHits.sum();
+    }
+
+    /**
+     * Gets the number of boards evicted to make room.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     *
+     * @return the hit rate, 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * Removes every board, keeping the counters.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Looks up a packed board.
+     *
+     * @param key the array holding the value words of the board
+     * @param offset the index of its first word
+     * @param solution receives the value words of the solution on {@link SolveResult.Status#SOLVED}
+     * @param solutionOffset the index of the first word to write
+     * @return {@link SolveResult.Status#SOLVED} or {@link SolveResult.Status#UNSOLVABLE}
+     *         if the board is cached, null if it is not
+     */
+    public SolveResult.Status get(long[] key, int offset, long[] solution, int solutionOffset) {
+        long hash = hash(key, offset);
+        Segment segment = segmentFor(hash);
+        SolveResult.Status status;
+        synchronized (segment) {
+            status = segment.get(key, offset, (int) hash, solution, solutionOffset);
+        }
+        (status != null ? hits : misses).increment();
+        return status;
+    }
+
+    /**
+     * Caches the result of a packed board, evicting the least recently used board of
+     * its segment if that is full.
+     *
+     * @param key the array holding the value words of the board
+     * @param offset the index of its first word
+     * @param solution the array holding the value words of the solution, or null if
+     *        the board has none
+     * @param solutionOffset the index of the first word of the solution
+     */
+    public void put(long[] key, int offset, long[] solution, int solutionOffset) {
+        long hash = hash(key, offset);
+        Segment segment = segmentFor(hash);
+        boolean evicted;
+        synchronized (segment) {
+            evicted = segment.put(key, offset, (int) hash, solution, solutionOffset);
+        }
+        if (evicted) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Looks up a board.
+     *
+     * @param board the board (0 for empty cells)
+     * @param solution receives the solution on {@link SolveResult.Status#SOLVED}
+     * @return {@link SolveResult.Status#SOLVED} or {@link SolveResult.Status#UNSOLVABLE}
+     *         if the board is cached, null if it is not
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public SolveResult.Status get(int[][] board, int[][] solution) {
+        long[] buffer = scratch.get();
+        int half = buffer.length / 2;
+        codec.encode(check(board), buffer, 0);
+        SolveResult.Status status = get(buffer, 0, buffer, half);
+        if (status == SolveResult.Status.SOLVED) {
+            codec.decode(buffer, half, solution);
+        }
+        return status;
+    }
+
+    /**
+     * Caches the result of a board.
+     *
+     * @param board the board (0 for empty cells)
+     * @param solution its solution, or null if it has none
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public void put(int[][] board, int[][] solution) {
+        long[] buffer = scratch.get();
+        int half = buffer.length / 2;
+        codec.encode(check(board), buffer, 0);
+        if (solution != null) {
+            codec.encode(check(solution), buffer, half);
+        }
+        put(buffer, 0, solution != null ? buffer : null, half);
+    }
+
+    /**
+     * Solves a board, from the cache when it is there and with a {@link Solver}
+     * otherwise, caching the result. The board is left unchanged.
+     *
+     * @param board the board (0 for empty cells)
+     * @return the solution, or null if the board has none
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public int[][] solve(int[][] board) {
+        int[][] solution = new int[size][size];
+        SolveResult.Status status = get(board, solution);
+        if (status != null) {
+            return status == SolveResult.Status.SOLVED ? solution : null;
+        }
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(board[row], 0, solution[row], 0, size);
+        }
+        if (!solvers.get().solve(solution)) {
+            solution = null;
+        }
+        put(board, solution);
+        return solution;
+    }
+
+    /**
+     * Solves a partly filled puzzle through the cached solution of its fixed cells,
+     * solving and caching the puzzle on a miss. If the other filled cells disagree with
+     * that solution, the board is solved as it is, through {@link #solve(int[][])}.
+     * The board is left unchanged.
+     *
+     * @param board the board (0 for empty cells)
+     * @param fixed the cells given by the puzzle
+     * @return the solution, or null if the board has none
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public int[][] solve(int[][] board, boolean[][] fixed) {
+        check(board);
+        int[][] givens = new int[size][size];
+        boolean filled = false;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (fixed[row][col]) {
+                    givens[row][col] = board[row][col];
+                } else {
+                    filled |= board[row][col] != 0;
+                }
+            }
+        }
+        if (!filled) {
+            return solve(givens);
+        }
+        int[][] solution = solve(givens);
+        if (solution == null) {
+            // Filling cells in cannot make an unsolvable puzzle solvable
+            givensHits.increment();
+            return null;
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board[row][col] != 0 && board[row][col] != solution[row][col]) {
+                    return solve(board);
+                }
+            }
+        }
+        givensHits.increment();
+        return solution;
+    }
+
+    private int[][] check(int[][] board) {
+        if (board.length != size) {
+            throw new IllegalArgumentException("Board does not fit a " + geometry + " board");
+        }
+        for (int[] row : board) {
+            if (row.length != size) {
+                throw new IllegalArgumentException("Board does not fit a " + geometry + " board");
+            }
+            for (int value : row) {
+                if (value < 0 || value > size) {
+                    throw new IllegalArgumentException("Cell value " + value + " out of range");
+                }
+            }
+        }
+        return board;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & (segments.length - 1)];
+    }
+
+    private long hash(long[] key, int offset) {
+        long h = 0;
+        for (int i = 0; i < words; i++) {
+            h = (h + key[offset + i]) * 0x9E3779B97F4A7C15L;
+        }
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * One share of the cache: entries in flat arrays, an open-addressing table mapping
+     * hashes to entry numbers, and a recency list from the most to the least recently
+     * used entry. Every method must be called holding the segment's lock.
+     */
+    private static final class Segment {
+        private static final int NONE = -1;
+
+        private final int words;
+        private final int capacity;
+        private final long[] keys;
+        private final long[] solutions;
+        private final boolean[] unsolvable;
+        private final int[] hashes;
+        private final int[] newer;
+        private final int[] older;
+        // table[i] holds entry number + 1, or 0 for a free slot
+        private final int[] table;
+        private int count;
+        private int newest = NONE;
+        private int oldest = NONE;
+
+        Segment(int words, int capacity) {
+            this.words = words;
+            this.capacity = capacity;
+            this.keys = new long[capacity * words];
+            this.solutions = new long[capacity * words];
+            this.unsolvable = new boolean[capacity];
+            this.hashes = new int[capacity];
+            this.newer = new int[capacity];
+            this.older = new int[capacity];
+            this.table = new int[Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1];
+        }
+
+        SolveResult.Status get(long[] key, int offset, int hash, long[] solution, int solutionOffset) {
+            int slot = find(key, offset, hash);
+            if (slot < 0) {
+                return null;
+            }
+            int entry = table[slot] - 1;
+            touch(entry);
+            if (unsolvable[entry]) {
+                return SolveResult.Status.UNSOLVABLE;
+            }
+            System.arraycopy(solutions, entry * words, solution, solutionOffset, words);
+            return SolveResult.Status.SOLVED;
+        }
+
+        /**
+         * Stores an entry.
+         *
+         * @return true if the least recently used entry was evicted to make room
+         */
+        boolean put(long[] key, int offset, int hash, long[] solution, int solutionOffset) {
+            int slot = find(key, offset, hash);
+            boolean evicted = false;
+            int entry;
+            if (slot >= 0) {
+                entry = table[slot] - 1;
+                touch(entry);
+            } else {
+                if (count < capacity) {
+                    entry = count++;
+                } else {
+                    entry = oldest;
+                    unlink(entry);
+                    delete(find(keys, entry * words, hashes[entry]));
+                    evicted = true;
+                }
+                System.arraycopy(key, offset, keys, entry * words, words);
+                hashes[entry] = hash;
+                int mask = table.length - 1;
+                slot = hash & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry + 1;
+                linkNewest(entry);
+            }
+            unsolvable[entry] = solution == null;
+            if (solution != null) {
+                System.arraycopy(solution, solutionOffset, solutions, entry * words, words);
+            }
+            return evicted;
+        }
+
+        void clear() {
+            Arrays.fill(table, 0);
+            count = 0;
+            newest = NONE;
+            oldest = NONE;
+        }
+
+        private int find(long[] key, int offset, int hash) {
+            int mask = table.length - 1;
+            for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int entry = table[slot] - 1;
+                if (hashes[entry] == hash && matches(entry, key, offset)) {
+                    return slot;
+                }
+            }
+            return NONE;
+        }
+
+        private boolean matches(int entry, long[] key, int offset) {
+            int base = entry * words;
+            for (int i = 0; i < words; i++) {
+                if (keys[base + i] != key[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Frees a table slot, shifting back the entries after it that probed past it,
+         * so that lookups never stop early at the gap.
+         */
+        private void delete(int slot) {
+            int mask = table.length - 1;
+            int gap = slot;
+            table[gap] = 0;
+            for (int next = (gap + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home = hashes[table[next] - 1] & mask;
+                // The entry may move into the gap unless its home lies after the gap
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    table[gap] = table[next];
+                    table[next] = 0;
+                    gap = next;
+                }
+            }
+        }
+
+        private void touch(int entry) {
+            if (entry != newest) {
+                unlink(entry);
+                linkNewest(entry);
+            }
+        }
+
+        private void unlink(int entry) {
+            int before = newer[entry];
+            int after = older[entry];
+            if (before == NONE) {
+                newest = after;
+            } else {
+                older[before] = after;
+            }
+            if (after == NONE) {
+                oldest = before;
+            } else {
+                newer[after] = before;
+            }
+        }
+
+        private void linkNewest(int entry) {
+            newer[entry] = NONE;
+            older[entry] = newest;
+            if (newest == NONE) {
+                oldest = entry;
+            } else {
+                newer[newest] = entry;
+            }
+            newest = entry;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.CVC.sudoku;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one call to {@link Solver#solve(int[][])},
+ * {@link Solver#countSolutions(int[][], int)} or
+ * {@link Solver#findSolutions(int[][], int, java.util.function.Consumer)}.
+ * Disabled by default; enable {@value #NAME} in a recording to collect it.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+@Name(SolveEvent.NAME)
+@Label("Sudoku Solve")
+@Category("Sudoku")
+@Description("A backtracking search over one board")
+@StackTrace(false)
+public class SolveEvent extends Event {
+    /** Event name for recording settings. */
+    public static final String NAME = "com.CVC.sudoku.Solve";
+    /** Operation of a call to solve. */
+    static final String SOLVE = "solve";
+    /** Operation of a call that counts or lists solutions. */
+    static final String COUNT = "count";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Board Size")
+    int size;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Backtracks")
+    long backtracks;
+
+    @Label("Propagations")
+    @Description("Placements forced by a single candidate or a single place in a unit")
+    long propagations;
+
+    @Label("Solutions")
+    int solutions;
+
+    @Label("Exhausted")
+    @Description("Whether the search gave up on a deadline, budget or cancellation")
+    boolean exhausted;
+}
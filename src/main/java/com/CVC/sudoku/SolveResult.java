@@ -0,0 +1,117 @@
+package com.CVC.sudoku;
+
+/**
+ * The outcome of a request to the {@link SolverService}: how it ended, the solution or
+ * the number of solutions found, and the work it took.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class SolveResult {
+    /**
+     * How a request ended.
+     */
+    public enum Status {
+        /** The search finished and found at least one solution. */
+        SOLVED,
+        /** The search finished without finding a solution. */
+        UNSOLVABLE,
+        /** The deadline passed before the search finished. */
+        TIMED_OUT,
+        /** The node budget ran out before the search finished. */
+        BUDGET_EXHAUSTED
+    }
+
+    private final Status status;
+    private final int[][] solution;
+    private final int solutionCount;
+    private final long nodes;
+    private final long nanos;
+
+    /**
+     * Constructs a result.
+     *
+     * @param status how the request ended
+     * @param solution the solution found, or null
+     * @param solutionCount the number of solutions found
+     * @param nodes the number of search nodes visited
+     * @param nanos the time spent searching, in nanoseconds
+     */
+    SolveResult(Status status, int[][] solution, int solutionCount, long nodes, long nanos) {
+        this.status = status;
+        this.solution = solution;
+        this.solutionCount = solutionCount;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets how the request ended.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Tells whether the search ran to the end, so the result is complete.
+     *
+     * @return true for {@link Status#SOLVED} and {@link Status#UNSOLVABLE}
+     */
+    public boolean isComplete() {
+        return status == Status.SOLVED || status == Status.UNSOLVABLE;
+    }
+
+    /**
+     * Gets the solution of a solve request.
+     *
+     * @return a copy of the solved board, or null if none was found or this was a count
+     */
+    public int[][] getSolution() {
+        if (solution == null) {
+            return null;
+        }
+        int[][] copy = new int[solution.length][];
+        for (int i = 0; i < solution.length; i++) {
+            copy[i] = solution[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the number of solutions found; for an incomplete count this is a lower bound.
+     *
+     * @return the solution count
+     */
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    /**
+     * Gets the number of search nodes the request visited.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the time the request spent searching, not counting its wait in the queue.
+     *
+     * @return the search time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveResult[" + status + ", solutions=" + solutionCount + ", nodes=" + nodes
+                + ", " + nanos / 1000 + " us]";
+    }
+}
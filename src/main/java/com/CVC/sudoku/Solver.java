@@ -1,118 +1,614 @@
 package com.CVC.sudoku;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
 /**
  * Solver class for Sudoku puzzles.
  * Contains algorithms for solving and generating Sudoku boards.
  *
+ * <p>The search keeps one digit bitmask per row, column and block, branches on the
+ * empty cell with the fewest candidates (MRV) or, on boards larger than 6x6, on a
+ * digit with a single place left in a unit, and runs iteratively over preallocated
+ * trail arrays, so a solve does not allocate. A solver instance is therefore not
+ * thread-safe; use one instance per thread.</p>
+ *
  * @author Camilo Vivas Correa
  * @studentID 202439049
  * @institution Universidad del Valle
  * @version 1.0
  * @since 2025
  */
-public class Solver {
+public class Solver implements SudokuSolver {
+    private static final int JIGSAW_ATTEMPTS = 16;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cells;
+    private final int allDigits;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] unitCells;
+    private final boolean hiddenSingles;
+
+    // Unit indices of each cell into unitMask: rows, then columns, then blocks
+    private final int[] rowUnit;
+    private final int[] colUnit;
+    private final int[] boxUnit;
+
+    private final int[] grid;
+    private final int[] unitMask;
+    private final int[] candidates;
+
+    // Search trail: empties[depth] is the cell decided at that depth, and
+    // remaining[depth] holds the candidates not yet tried there.
+    private final int[] empties;
+    private final int[] remaining;
+    private int emptyCount;
+
+    private long nodeCount;
+    private long backtrackCount;
+    private long propagationCount;
+    private long callNodes;
+    private long callBacktracks;
+    private long callPropagations;
+    private int gridAttempts;
+    private boolean exhausted;
+    private Consumer<int[][]> solutionAction;
+    private AtomicBoolean cancellation;
+    private boolean hasDeadline;
+    private long deadline;
+    private long nodeBudget = Long.MAX_VALUE;
+    private long callLimit = Long.MAX_VALUE;
+    private final Random random = new Random();
+
+    /**
+     * Constructs a solver for the classic 6x6 board.
+     */
+    public Solver() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Constructs a solver for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards this solver works on
+     */
+    public Solver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = geometry.getCellCount();
+        this.allDigits = geometry.getAllDigits();
+        this.rowOf = geometry.cellRows();
+        this.colOf = geometry.cellCols();
+        this.unitCells = geometry.unitCells();
+        // On small boards the unit scan costs more than the nodes it saves
+        this.hiddenSingles = size > 6;
+
+        rowUnit = new int[cells];
+        colUnit = new int[cells];
+        boxUnit = new int[cells];
+        int[] boxOf = geometry.cellBoxes();
+        for (int cell = 0; cell < cells; cell++) {
+            rowUnit[cell] = rowOf[cell];
+            colUnit[cell] = size + colOf[cell];
+            boxUnit[cell] = 2 * size + boxOf[cell];
+        }
+
+        grid = new int[cells];
+        unitMask = new int[3 * size];
+        candidates = new int[cells];
+        empties = new int[cells];
+        remaining = new int[cells];
+    }
+
+    @Override
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
 
     /**
      * Solves a Sudoku board using backtracking algorithm.
+     * The board is filled in place with the first solution found.
      *
-     * @param board the 6x6 Sudoku board to solve
+     * @param board the Sudoku board to solve, sized for this solver's geometry
      * @return true if the board was solved successfully, false otherwise
      */
+    @Override
     public boolean solve(int[][] board) {
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
-                if (board[row][col] == 0) {
-                    for (int num = 1; num <= 6; num++) {
-                        if (isValidNumber(board, row, col, num)) {
-                            board[row][col] = num;
-
-                            if (solve(board)) {
-                                return true;
-                            } else {
-                                board[row][col] = 0;
-                            }
-                        }
-                    }
-                    return false;
-                }
-            }
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = startCall();
+        boolean solved = solveBoard(board);
+        if (SolverMetrics.ENABLED) {
+            endCall(start);
+        }
+        if (event.shouldCommit()) {
+            describe(event, SolveEvent.SOLVE, solved ? 1 : 0);
+            event.commit();
+        }
+        return solved;
+    }
+
+    private boolean solveBoard(int[][] board) {
+        if (!load(board)) {
+            return false;
+        }
+
+        // Restart with a doubled node budget and shuffled digit order whenever a run
+        // exhausts its budget; a run that finishes within budget is a complete answer
+        long budget = 50L * cells;
+        boolean shuffle = false;
+        int found;
+        while ((found = search(1, budget, shuffle)) == 0 && exhausted && nodeCount < callLimit && !isCancelled()) {
+            load(board);
+            budget *= 2;
+            shuffle = true;
+        }
+        if (found == 0) {
+            return false;
         }
+        store(board);
         return true;
     }
 
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return findSolutions(board, limit, null);
+    }
+
+    @Override
+    public int findSolutions(int[][] board, int limit, Consumer<int[][]> action) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = startCall();
+        int found = 0;
+        if (load(board)) {
+            solutionAction = action;
+            try {
+                found = search(limit, Long.MAX_VALUE, false);
+            } finally {
+                solutionAction = null;
+            }
+        }
+        if (SolverMetrics.ENABLED) {
+            endCall(start);
+        }
+        if (event.shouldCommit()) {
+            describe(event, SolveEvent.COUNT, found);
+            event.commit();
+        }
+        return found;
+    }
+
+    /**
+     * Sets a flag that stops searches in progress once it becomes true.
+     * A cancelled search reports only the solutions found so far, and a cancelled
+     * {@link #solve(int[][])} returns false.
+     *
+     * @param flag the cancellation flag, or null to disable cancellation
+     */
+    void setCancellation(AtomicBoolean flag) {
+        cancellation = flag;
+    }
+
+    /**
+     * Sets a point in time after which searches give up, as if cancelled.
+     *
+     * @param deadlineNanos the deadline, in {@link System#nanoTime()} units
+     */
+    void setDeadline(long deadlineNanos) {
+        hasDeadline = true;
+        deadline = deadlineNanos;
+    }
+
+    /**
+     * Removes the deadline set by {@link #setDeadline(long)}.
+     */
+    void clearDeadline() {
+        hasDeadline = false;
+    }
+
+    /**
+     * Sets the number of nodes each call to {@link #solve(int[][])},
+     * {@link #countSolutions(int[][], int)} or {@link #findSolutions(int[][], int, Consumer)}
+     * may visit before it gives up, counting the restarts of a solve together.
+     *
+     * @param budget the node budget per call, or {@link Long#MAX_VALUE} for none
+     */
+    void setNodeBudget(long budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Node budget must be positive");
+        }
+        nodeBudget = budget;
+    }
+
+    /**
+     * Tells whether the last call stopped early, because it was cancelled, ran past its
+     * deadline or used up its node budget, rather than by finishing the search. The
+     * result of such a call is incomplete.
+     *
+     * @return true if the last search gave up
+     */
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    private boolean isCancelled() {
+        return cancellation != null && cancellation.get() || hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Starts counting the node budget and the work of a new call.
+     *
+     * @return the start time for the metrics, or 0 when they are disabled
+     */
+    private long startCall() {
+        callLimit = nodeCount + nodeBudget < 0 ? Long.MAX_VALUE : nodeCount + nodeBudget;
+        callNodes = nodeCount;
+        callBacktracks = backtrackCount;
+        callPropagations = propagationCount;
+        return SolverMetrics.ENABLED ? System.nanoTime() : 0;
+    }
+
+    private void endCall(long start) {
+        SolverMetrics.get().recordSolve(System.nanoTime() - start, nodeCount - callNodes,
+                backtrackCount - callBacktracks, propagationCount - callPropagations);
+    }
+
+    private void describe(SolveEvent event, String operation, int solutions) {
+        event.operation = operation;
+        event.size = size;
+        event.nodes = nodeCount - callNodes;
+        event.backtracks = backtrackCount - callBacktracks;
+        event.propagations = propagationCount - callPropagations;
+        event.solutions = solutions;
+        event.exhausted = exhausted;
+    }
+
+    /**
+     * Copies the current grid into a board.
+     *
+     * @param board the board to write
+     */
+    private void store(int[][] board) {
+        for (int cell = 0; cell < cells; cell++) {
+            board[rowOf[cell]][colOf[cell]] = grid[cell];
+        }
+    }
+
     /**
-     * Checks if a number can be placed at a specific position without violating Sudoku rules.
+     * Gets the number of search nodes (tentative placements) visited by this solver.
      *
-     * @param board the current board state
-     * @param row the row index to check
-     * @param col the column index to check
-     * @param num the number to validate
-     * @return true if the number can be placed at the position, false otherwise
+     * @return the total node count since this solver was created
      */
-    private boolean isValidNumber(int[][] board, int row, int col, int num) {
-        // Check row
-        for (int c = 0; c < 6; c++) {
-            if (board[row][c] == num) {
+    @Override
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of placements this solver has taken back to try another digit.
+     *
+     * @return the total backtrack count since this solver was created
+     */
+    public long getBacktrackCount() {
+        return backtrackCount;
+    }
+
+    /**
+     * Gets the number of placements that were forced, because the cell had a single
+     * candidate or the digit a single place in a unit, rather than guessed.
+     *
+     * @return the total propagation count since this solver was created
+     */
+    public long getPropagationCount() {
+        return propagationCount;
+    }
+
+    /**
+     * Gets the number of random fills the last {@link #generateBoard()} needed before one
+     * could be completed.
+     *
+     * @return the attempt count of the last generated board
+     */
+    int getGridAttempts() {
+        return gridAttempts;
+    }
+
+    /**
+     * Loads a board into the grid and unit masks, collecting the empty cells.
+     *
+     * @param board the board to load
+     * @return false if two given digits already conflict, true otherwise
+     */
+    private boolean load(int[][] board) {
+        exhausted = false;
+        Arrays.fill(unitMask, 0);
+        emptyCount = 0;
+
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board[rowOf[cell]][colOf[cell]];
+            grid[cell] = value;
+            if (value == 0) {
+                empties[emptyCount++] = cell;
+                continue;
+            }
+            int bit = 1 << (value - 1);
+            if (((unitMask[rowUnit[cell]] | unitMask[colUnit[cell]] | unitMask[boxUnit[cell]]) & bit) != 0) {
                 return false;
             }
+            place(cell, bit);
         }
+        return true;
+    }
 
-        // Check column
-        for (int r = 0; r < 6; r++) {
-            if (board[r][col] == num) {
-                return false;
+    /**
+     * Runs the iterative search over the loaded grid.
+     * When it returns with at least one solution, the grid holds the last solution found.
+     *
+     * @param limit the number of solutions after which the search stops
+     * @param budget the number of nodes after which the search gives up and sets {@code exhausted}
+     * @param shuffle whether to try the candidates of a cell in random order
+     * @return the number of solutions found, at most {@code limit}
+     */
+    private int search(int limit, long budget, boolean shuffle) {
+        exhausted = false;
+        long nodeLimit = Math.min(nodeCount + budget < 0 ? Long.MAX_VALUE : nodeCount + budget, callLimit);
+        int solutions = 0;
+        int depth = 0;
+        boolean descending = true;
+
+        while (true) {
+            if (descending) {
+                if (depth == emptyCount) {
+                    if (solutionAction != null) {
+                        int[][] solution = new int[size][size];
+                        store(solution);
+                        solutionAction.accept(solution);
+                    }
+                    if (++solutions >= limit) {
+                        return solutions;
+                    }
+                    depth--;
+                    descending = false;
+                    if (depth < 0) {
+                        return solutions;
+                    }
+                    continue;
+                }
+
+                int choice = choose(depth);
+                if (choice < 0) {
+                    // Dead end: nothing was placed at this depth
+                    depth--;
+                    descending = false;
+                    if (depth < 0) {
+                        return solutions;
+                    }
+                    continue;
+                }
+
+                int swap = empties[depth];
+                empties[depth] = empties[choice];
+                empties[choice] = swap;
+            } else {
+                int cell = empties[depth];
+                remove(cell, 1 << (grid[cell] - 1));
+                backtrackCount++;
             }
+
+            int options = remaining[depth];
+            if (options == 0) {
+                depth--;
+                descending = false;
+                if (depth < 0) {
+                    return solutions;
+                }
+                continue;
+            }
+
+            if (nodeCount >= nodeLimit || (nodeCount & 0x3FF) == 0 && isCancelled()) {
+                exhausted = true;
+                return solutions;
+            }
+
+            int pick = options;
+            if (shuffle) {
+                for (int skip = random.nextInt(Integer.bitCount(options)); skip > 0; skip--) {
+                    pick &= pick - 1;
+                }
+            }
+            int bit = pick & -pick;
+            if (descending && options == bit) {
+                propagationCount++;
+            }
+            remaining[depth] = options ^ bit;
+            place(empties[depth], bit);
+            nodeCount++;
+            depth++;
+            descending = true;
         }
+    }
 
-        // Check 2x3 block
-        int blockRow = (row / 2) * 2;
-        int blockCol = (col / 3) * 3;
+    /**
+     * Chooses the next cell to branch on among empties[depth..emptyCount) and stores
+     * the digits to try there in remaining[depth].
+     * Prefers the cell with the fewest candidates; when no cell is forced, a digit with
+     * a single place left in some unit (hidden single) is placed instead, and a digit
+     * with no place left in a unit makes the position a dead end.
+     *
+     * @param depth the current search depth
+     * @return the index in empties of the chosen cell, or -1 if the position is a dead end
+     */
+    private int choose(int depth) {
+        int best = -1;
+        int bestCount = size + 1;
+        for (int i = depth; i < emptyCount; i++) {
+            int cell = empties[i];
+            int cellCandidates = ~(unitMask[rowUnit[cell]] | unitMask[colUnit[cell]] | unitMask[boxUnit[cell]])
+                    & allDigits;
+            candidates[cell] = cellCandidates;
+            int count = Integer.bitCount(cellCandidates);
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+        if (bestCount == 0) {
+            return -1;
+        }
+        remaining[depth] = candidates[empties[best]];
+        if (bestCount == 1 || !hiddenSingles) {
+            return best;
+        }
 
-        for (int i = blockRow; i < blockRow + 2; i++) {
-            for (int j = blockCol; j < blockCol + 3; j++) {
-                if (board[i][j] == num) {
-                    return false;
+        // Every empty cell has fresh candidates here, so unit scans can use them
+        for (int unit = 0; unit < unitMask.length; unit++) {
+            int base = unit * size;
+            int once = 0;
+            int twice = 0;
+            for (int k = 0; k < size; k++) {
+                int cell = unitCells[base + k];
+                if (grid[cell] == 0) {
+                    int cellCandidates = candidates[cell];
+                    twice |= once & cellCandidates;
+                    once |= cellCandidates;
+                }
+            }
+            if ((once | unitMask[unit]) != allDigits) {
+                return -1;
+            }
+            int singles = once & ~twice;
+            if (singles != 0) {
+                int bit = singles & -singles;
+                for (int k = 0; k < size; k++) {
+                    int cell = unitCells[base + k];
+                    if (grid[cell] == 0 && (candidates[cell] & bit) != 0) {
+                        remaining[depth] = bit;
+                        return indexOfEmpty(cell, depth);
+                    }
                 }
             }
         }
+        return best;
+    }
 
-        return true;
+    private int indexOfEmpty(int cell, int from) {
+        int i = from;
+        while (empties[i] != cell) {
+            i++;
+        }
+        return i;
+    }
+
+    private void place(int cell, int bit) {
+        grid[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+        unitMask[rowUnit[cell]] |= bit;
+        unitMask[colUnit[cell]] |= bit;
+        unitMask[boxUnit[cell]] |= bit;
+    }
+
+    private void remove(int cell, int bit) {
+        grid[cell] = 0;
+        unitMask[rowUnit[cell]] &= ~bit;
+        unitMask[colUnit[cell]] &= ~bit;
+        unitMask[boxUnit[cell]] &= ~bit;
     }
 
     /**
      * Generates a valid Sudoku board.
+     * Seeds the diagonal blocks (the first row on a jigsaw board) at random and
+     * completes the grid with a randomized search; a seed whose search runs unusually
+     * long is abandoned for a fresh one, which avoids the heavy-tailed runs plain
+     * backtracking shows on large boards.
      *
-     * @return a 6x6 array representing a valid Sudoku board
+     * @return a complete board of this solver's geometry
+     * @throws IllegalStateException if the geometry is a jigsaw whose regions admit no
+     *         valid grid
+     * @throws CancellationException if the cancellation flag is set or the deadline
+     *         passes before a grid is found
      */
     public int[][] generateBoard() {
-        int[][] board = new int[6][6];
+        int[][] board = new int[size][size];
+        long budget = 20L * cells;
+        callLimit = Long.MAX_VALUE;
+        gridAttempts = 0;
 
-        // Fill diagonal 2x3 blocks with valid numbers
-        fillBlock(board, 0, 0);
-        fillBlock(board, 2, 0);
-        fillBlock(board, 4, 0);
+        while (true) {
+            gridAttempts++;
+            for (int[] row : board) {
+                Arrays.fill(row, 0);
+            }
+
+            if (geometry.isJigsaw()) {
+                // Regions may cross any row or column, so only one line can be seeded
+                // safely. Relabelling digits turns any grid into one with this first
+                // row, so past a few attempts an unbounded search settles whether the
+                // region map has a grid at all.
+                fillRow(board, 0);
+                if (gridAttempts > JIGSAW_ATTEMPTS) {
+                    budget = Long.MAX_VALUE;
+                }
+            } else {
+                // Fill the blocks along the diagonal, which share no row or column, with valid numbers
+                int boxRows = geometry.getBoxRows();
+                int boxCols = geometry.getBoxCols();
+                for (int i = 0; i * boxRows < size && i * boxCols < size; i++) {
+                    fillBlock(board, i * boxRows, i * boxCols);
+                }
+            }
 
-        // Solve the rest of the board
-        solve(board);
+            // Solve the rest of the board
+            if (load(board) && search(1, budget, true) == 1) {
+                store(board);
+                return board;
+            }
+            if (exhausted && isCancelled()) {
+                // Every later attempt would stop at once as well
+                throw new CancellationException("Board generation was cancelled");
+            }
+            if (!exhausted && geometry.isJigsaw()) {
+                throw new IllegalStateException("No valid grid exists for this region map");
+            }
+        }
+    }
 
-        return board;
+    /**
+     * Fills a row with a random permutation of the numbers 1-N.
+     *
+     * @param board the board to fill
+     * @param row the row to fill
+     */
+    private void fillRow(int[][] board, int row) {
+        for (int col = 0; col < size; col++) {
+            int swap = random.nextInt(col + 1);
+            board[row][col] = board[row][swap];
+            board[row][swap] = col + 1;
+        }
     }
 
     /**
-     * Fills a 2x3 block with numbers 1-6 without repetition.
+     * Fills a block with numbers 1-N without repetition.
      *
      * @param board the board to fill
      * @param startRow the starting row of the block
      * @param startCol the starting column of the block
      */
     private void fillBlock(int[][] board, int startRow, int startCol) {
-        boolean[] used = new boolean[7]; // indices 1-6
+        boolean[] used = new boolean[size + 1]; // indices 1-N
 
-        for (int i = startRow; i < startRow + 2; i++) {
-            for (int j = startCol; j < startCol + 3; j++) {
+        for (int i = startRow; i < startRow + geometry.getBoxRows(); i++) {
+            for (int j = startCol; j < startCol + geometry.getBoxCols(); j++) {
                 int num;
                 do {
-                    num = (int) (Math.random() * 6) + 1;
+                    num = random.nextInt(size) + 1;
                 } while (used[num]);
 
                 board[i][j] = num;
@@ -120,4 +616,4 @@ public class Solver {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package com.CVC.sudoku;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms of the solver, the generator, hints and
+ * move validation, published as a JMX MBean named {@value #OBJECT_NAME}.
+ *
+ * <p>Metrics are off unless the {@code sudoku.metrics} system property is
+ * {@code true}. The switch is a {@code static final} field, so when it is off every
+ * recording site is a branch the JIT compiles away. When it is on, counters are
+ * {@link LongAdder}s, which do not contend between threads, and durations go to a
+ * {@link LatencyHistogram}, whose shared bucket counters threads recording similar
+ * durations at the same moment do contend on. Per-event detail is available
+ * separately through the {@link SolveEvent} and {@link GenerateEvent} Flight Recorder
+ * events, which cost nothing unless a recording enables them.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public final class SolverMetrics implements SolverMetricsMBean {
+    /** System property that turns the metrics on. */
+    public static final String PROPERTY = "sudoku.metrics";
+    /** JMX name the metrics are registered under. */
+    public static final String OBJECT_NAME = "com.CVC.sudoku:type=SolverMetrics";
+
+    /** Whether metrics are recorded; fixed at startup. */
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Could not register " + OBJECT_NAME + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder propagations = new LongAdder();
+    private final LatencyHistogram solveLatency = new LatencyHistogram();
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder gridAttempts = new LongAdder();
+    private final LongAdder uniquenessChecks = new LongAdder();
+    private final LatencyHistogram generateLatency = new LatencyHistogram();
+
+    private final LongAdder hints = new LongAdder();
+    private final LongAdder validations = new LongAdder();
+    private volatile long resetNanos = System.nanoTime();
+
+    private SolverMetrics() {
+    }
+
+    /**
+     * Gets the metrics of this process.
+     *
+     * @return the shared instance
+     */
+    public static SolverMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Tells whether metrics are being recorded.
+     *
+     * @return the value of the {@code sudoku.metrics} property at startup
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    void recordSolve(long nanos, long nodeCount, long backtrackCount, long propagationCount) {
+        solves.increment();
+        nodes.add(nodeCount);
+        backtracks.add(backtrackCount);
+        propagations.add(propagationCount);
+        solveLatency.record(nanos);
+    }
+
+    void recordGenerated(long nanos, int attempts, int checks) {
+        generated.increment();
+        gridAttempts.add(attempts);
+        uniquenessChecks.add(checks);
+        generateLatency.record(nanos);
+    }
+
+    void recordHint() {
+        hints.increment();
+    }
+
+    void recordValidation() {
+        validations.increment();
+    }
+
+    @Override
+    public long getSolveCount() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getNodeCount() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getBacktrackCount() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public long getPropagationCount() {
+        return propagations.sum();
+    }
+
+    @Override
+    public double getSolveLatencyP50Micros() {
+        return solveLatency.getPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getSolveLatencyP99Micros() {
+        return solveLatency.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getSolveLatencyMaxMicros() {
+        return solveLatency.getMax() / 1e3;
+    }
+
+    @Override
+    public double getSolveLatencyMeanMicros() {
+        return solveLatency.getMean() / 1e3;
+    }
+
+    @Override
+    public long getGeneratedCount() {
+        return generated.sum();
+    }
+
+    @Override
+    public double getGridAttemptsPerPuzzle() {
+        return perPuzzle(gridAttempts);
+    }
+
+    @Override
+    public double getUniquenessChecksPerPuzzle() {
+        return perPuzzle(uniquenessChecks);
+    }
+
+    @Override
+    public double getGenerateLatencyP99Micros() {
+        return generateLatency.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public long getHintCount() {
+        return hints.sum();
+    }
+
+    @Override
+    public double getHintsPerSecond() {
+        return perSecond(hints);
+    }
+
+    @Override
+    public long getValidationCount() {
+        return validations.sum();
+    }
+
+    @Override
+    public double getValidationsPerSecond() {
+        return perSecond(validations);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[] {solves, nodes, backtracks, propagations, generated, gridAttempts,
+                uniquenessChecks, hints, validations}) {
+            adder.reset();
+        }
+        solveLatency.reset();
+        generateLatency.reset();
+        resetNanos = System.nanoTime();
+    }
+
+    private double perPuzzle(LongAdder adder) {
+        long puzzles = generated.sum();
+        return puzzles == 0 ? 0 : (double) adder.sum() / puzzles;
+    }
+
+    private double perSecond(LongAdder adder) {
+        double seconds = (System.nanoTime() - resetNanos) / 1e9;
+        return seconds <= 0 ? 0 : adder.sum() / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("solves=%d nodes=%d backtracks=%d propagations=%d solve p50=%.1f us p99=%.1f us"
+                        + " max=%.1f us; generated=%d grid attempts/puzzle=%.2f checks/puzzle=%.1f;"
+                        + " hints=%d validations=%d",
+                getSolveCount(), getNodeCount(), getBacktrackCount(), getPropagationCount(),
+                getSolveLatencyP50Micros(), getSolveLatencyP99Micros(), getSolveLatencyMaxMicros(),
+                getGeneratedCount(), getGridAttemptsPerPuzzle(), getUniquenessChecksPerPuzzle(),
+                getHintCount(), getValidationCount());
+    }
+}
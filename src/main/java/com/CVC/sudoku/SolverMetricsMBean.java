@@ -0,0 +1,130 @@
+package com.CVC.sudoku;
+
+/**
+ * JMX management interface of the {@link SolverMetrics}. Times are in microseconds and
+ * rates per second since the last reset.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public interface SolverMetricsMBean {
+    /**
+     * Gets the number of solve and count calls.
+     *
+     * @return the call count
+     */
+    long getSolveCount();
+
+    /**
+     * Gets the number of search nodes visited.
+     *
+     * @return the node count
+     */
+    long getNodeCount();
+
+    /**
+     * Gets the number of placements taken back.
+     *
+     * @return the backtrack count
+     */
+    long getBacktrackCount();
+
+    /**
+     * Gets the number of forced placements.
+     *
+     * @return the propagation count
+     */
+    long getPropagationCount();
+
+    /**
+     * Gets the median solve time.
+     *
+     * @return the 50th percentile in microseconds
+     */
+    double getSolveLatencyP50Micros();
+
+    /**
+     * Gets the 99th percentile of the solve time.
+     *
+     * @return the 99th percentile in microseconds
+     */
+    double getSolveLatencyP99Micros();
+
+    /**
+     * Gets the longest solve time.
+     *
+     * @return the maximum in microseconds
+     */
+    double getSolveLatencyMaxMicros();
+
+    /**
+     * Gets the mean solve time.
+     *
+     * @return the mean in microseconds
+     */
+    double getSolveLatencyMeanMicros();
+
+    /**
+     * Gets the number of puzzles generated.
+     *
+     * @return the puzzle count
+     */
+    long getGeneratedCount();
+
+    /**
+     * Gets the mean number of random grid fills per generated puzzle.
+     *
+     * @return the grid attempts per puzzle
+     */
+    double getGridAttemptsPerPuzzle();
+
+    /**
+     * Gets the mean number of clue removals tried per generated puzzle.
+     *
+     * @return the uniqueness checks per puzzle
+     */
+    double getUniquenessChecksPerPuzzle();
+
+    /**
+     * Gets the 99th percentile of the time to generate a puzzle.
+     *
+     * @return the 99th percentile in microseconds
+     */
+    double getGenerateLatencyP99Micros();
+
+    /**
+     * Gets the number of hints given.
+     *
+     * @return the hint count
+     */
+    long getHintCount();
+
+    /**
+     * Gets the rate of hints.
+     *
+     * @return hints per second
+     */
+    double getHintsPerSecond();
+
+    /**
+     * Gets the number of moves validated.
+     *
+     * @return the validation count
+     */
+    long getValidationCount();
+
+    /**
+     * Gets the rate of move validations.
+     *
+     * @return validations per second
+     */
+    double getValidationsPerSecond();
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,331 @@
+package com.CVC.sudoku;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs solver requests asynchronously, each bounded so that no board, however
+ * pathological, can keep a thread busy indefinitely.
+ *
+ * <p>Every request returns a {@link CompletableFuture} of a {@link SolveResult} and may
+ * carry a timeout and a node budget. Both are enforced inside the {@link Solver} search
+ * loop, which also polls a per-request stop flag: cancelling the future sets that flag,
+ * so the search stops within about a thousand nodes instead of running to the end, and
+ * the future completes with a {@link java.util.concurrent.CancellationException}. A
+ * request still waiting in the queue when its deadline passes, or when it is
+ * cancelled, is not searched at all.</p>
+ *
+ * <p>Requests run on a fixed pool of daemon threads, each with its own solver per board
+ * geometry. The search is CPU-bound, so one thread per core is as much as helps. At
+ * most {@code maxInFlight} requests are queued or running at once; beyond that, a new
+ * request fails at once with a {@link RejectedExecutionException} instead of queueing
+ * without bound, so callers can shed load or retry.</p>
+ *
+ * <p>With a cache capacity, solve requests go through a {@link SolutionCache} per
+ * board geometry: a board already solved completes at once, without queueing, and
+ * every solve that runs to the end is cached, unsolvable boards included.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class SolverService implements AutoCloseable {
+    /** Node budget meaning no limit. */
+    public static final long NO_BUDGET = Long.MAX_VALUE;
+
+    private final ExecutorService pool;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final ThreadLocal<Map<BoardGeometry, Solver>> solvers = ThreadLocal.withInitial(HashMap::new);
+    private final int cacheCapacity;
+    private final Map<BoardGeometry, SolutionCache> caches = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Constructs a service with one thread per available processor.
+     *
+     * @param maxInFlight the number of requests that may be queued or running at once
+     */
+    public SolverService(int maxInFlight) {
+        this(Runtime.getRuntime().availableProcessors(), maxInFlight);
+    }
+
+    /**
+     * Constructs a service.
+     *
+     * @param threads the number of worker threads
+     * @param maxInFlight the number of requests that may be queued or running at once
+     */
+    public SolverService(int threads, int maxInFlight) {
+        this(threads, maxInFlight, 0);
+    }
+
+    /**
+     * Constructs a service that caches solutions.
+     *
+     * @param threads the number of worker threads
+     * @param maxInFlight the number of requests that may be queued or running at once
+     * @param cacheCapacity the most boards to cache per board geometry, or 0 for no cache
+     */
+    public SolverService(int threads, int maxInFlight, int cacheCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight");
+        }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Cache capacity must not be negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.cacheCapacity = cacheCapacity;
+        this.permits = new Semaphore(maxInFlight);
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "solver-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Solves a board.
+     *
+     * @param geometry the shape of the board
+     * @param board the board (0 for empty cells); it is copied before this returns
+     * @param timeout the longest the request may take from now, or null for no deadline
+     * @param nodeBudget the most search nodes to visit, or {@link #NO_BUDGET}
+     * @return the future result, with the solution if one was found
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public CompletableFuture<SolveResult> solve(BoardGeometry geometry, int[][] board, Duration timeout,
+                                                long nodeBudget) {
+        return submit(geometry, board, timeout, nodeBudget, 0);
+    }
+
+    /**
+     * Counts the solutions of a board, up to a limit.
+     *
+     * @param geometry the shape of the board
+     * @param board the board (0 for empty cells); it is copied before this returns
+     * @param limit the number of solutions after which counting stops
+     * @param timeout the longest the request may take from now, or null for no deadline
+     * @param nodeBudget the most search nodes to visit, or {@link #NO_BUDGET}
+     * @return the future result, with the number of solutions found
+     * @throws IllegalArgumentException if the board does not fit the geometry
+     */
+    public CompletableFuture<SolveResult> count(BoardGeometry geometry, int[][] board, int limit, Duration timeout,
+                                                long nodeBudget) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return submit(geometry, board, timeout, nodeBudget, limit);
+    }
+
+    /**
+     * Gets the number of requests queued or running.
+     *
+     * @return the requests in flight
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Gets the number of requests turned away because too many were in flight.
+     *
+     * @return the rejected request count
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of requests that ran to a result, whatever its status.
+     *
+     * @return the completed request count
+     */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * Gets the solution cache of a board geometry, for its hit and miss counts.
+     *
+     * @param geometry the shape of the boards
+     * @return the cache, or null if this service has no cache or has not yet solved
+     *         a board of that shape
+     */
+    public SolutionCache getCache(BoardGeometry geometry) {
+        return caches.get(geometry);
+    }
+
+    /**
+     * Stops the worker threads. Requests still pending are cancelled.
+     */
+    @Override
+    public void close() {
+        for (Runnable pending : pool.shutdownNow()) {
+            ((Request) pending).future.cancel(false);
+        }
+    }
+
+    /**
+     * Queues a request.
+     *
+     * @param limit the solution limit of a count, or 0 for a solve
+     */
+    private CompletableFuture<SolveResult> submit(BoardGeometry geometry, int[][] board, Duration timeout,
+                                                  long nodeBudget, int limit) {
+        int[][] copy = copy(geometry, board);
+        if (nodeBudget < 1) {
+            throw new IllegalArgumentException("Node budget must be positive");
+        }
+        SolutionCache cache = null;
+        if (limit == 0 && cacheCapacity > 0) {
+            cache = caches.computeIfAbsent(geometry, g -> new SolutionCache(g, cacheCapacity));
+            int[][] solution = new int[copy.length][copy.length];
+            SolveResult.Status status = cache.get(copy, solution);
+            if (status != null) {
+                completed.incrementAndGet();
+                boolean solved = status == SolveResult.Status.SOLVED;
+                return CompletableFuture.completedFuture(
+                        new SolveResult(status, solved ? solution : null, solved ? 1 : 0, 0, 0));
+            }
+        }
+        if (!permits.tryAcquire()) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many solver requests in flight (" + maxInFlight + ")"));
+        }
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        Request request = new Request(geometry, copy, timeout != null, deadline, nodeBudget, limit, cache);
+        request.future.whenComplete((result, error) -> {
+            request.stop.set(true);
+            permits.release();
+        });
+        try {
+            pool.execute(request);
+        } catch (RejectedExecutionException e) {
+            request.future.completeExceptionally(e);
+        }
+        return request.future;
+    }
+
+    private static int[][] copy(BoardGeometry geometry, int[][] board) {
+        int size = geometry.getSize();
+        if (board.length != size) {
+            throw new IllegalArgumentException("Board does not fit a " + geometry + " board");
+        }
+        int[][] copy = new int[size][];
+        for (int row = 0; row < size; row++) {
+            if (board[row].length != size) {
+                throw new IllegalArgumentException("Board does not fit a " + geometry + " board");
+            }
+            for (int value : board[row]) {
+                if (value < 0 || value > size) {
+                    throw new IllegalArgumentException("Cell value " + value + " out of range");
+                }
+            }
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * One queued request and the future it completes.
+     */
+    private final class Request implements Runnable {
+        final CompletableFuture<SolveResult> future = new CompletableFuture<>();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final BoardGeometry geometry;
+        final int[][] board;
+        final boolean hasDeadline;
+        final long deadline;
+        final long nodeBudget;
+        final int limit;
+        final SolutionCache cache;
+        // The board as given, kept as the cache key since the solve fills the board in
+        final int[][] key;
+
+        Request(BoardGeometry geometry, int[][] board, boolean hasDeadline, long deadline, long nodeBudget,
+                int limit, SolutionCache cache) {
+            this.geometry = geometry;
+            this.board = board;
+            this.hasDeadline = hasDeadline;
+            this.deadline = deadline;
+            this.nodeBudget = nodeBudget;
+            this.limit = limit;
+            this.cache = cache;
+            this.key = cache != null ? copy(geometry, board) : null;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            long start = System.nanoTime();
+            if (hasDeadline && start - deadline >= 0) {
+                finish(SolveResult.Status.TIMED_OUT, null, 0, 0, 0);
+                return;
+            }
+
+            Solver solver = solvers.get().computeIfAbsent(geometry, Solver::new);
+            solver.setCancellation(stop);
+            if (hasDeadline) {
+                solver.setDeadline(deadline);
+            }
+            solver.setNodeBudget(nodeBudget);
+            long nodesBefore = solver.getNodeCount();
+            int found;
+            try {
+                found = limit == 0 ? (solver.solve(board) ? 1 : 0) : solver.countSolutions(board, limit);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            } finally {
+                solver.setCancellation(null);
+                solver.clearDeadline();
+                solver.setNodeBudget(NO_BUDGET);
+            }
+            if (stop.get()) {
+                // The flag is only set once the future is done, by cancel() here, so
+                // there is no one left to give a result to
+                return;
+            }
+            long nodes = solver.getNodeCount() - nodesBefore;
+            long nanos = System.nanoTime() - start;
+
+            SolveResult.Status status;
+            if (limit == 0 && found > 0 || !solver.isExhausted()) {
+                status = found > 0 ? SolveResult.Status.SOLVED : SolveResult.Status.UNSOLVABLE;
+            } else if (hasDeadline && System.nanoTime() - deadline >= 0) {
+                status = SolveResult.Status.TIMED_OUT;
+            } else {
+                status = SolveResult.Status.BUDGET_EXHAUSTED;
+            }
+            if (cache != null && (status == SolveResult.Status.SOLVED || status == SolveResult.Status.UNSOLVABLE)) {
+                cache.put(key, found > 0 ? board : null);
+            }
+            finish(status, limit == 0 && found > 0 ? board : null, found, nodes, nanos);
+        }
+
+        private void finish(SolveResult.Status status, int[][] solution, int found, long nodes, long nanos) {
+            completed.incrementAndGet();
+            future.complete(new SolveResult(status, solution, found, nodes, nanos));
+        }
+    }
+}
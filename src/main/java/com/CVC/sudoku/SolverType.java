@@ -0,0 +1,69 @@
+package com.CVC.sudoku;
+
+import java.util.Locale;
+
+/**
+ * The available Sudoku solving strategies, used to pick one at runtime.
+ * The default strategy can be chosen with the {@code sudoku.solver} system property
+ * ({@code backtracking}, {@code dancing_links} or {@code parallel}).
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public enum SolverType {
+    /** Bitmask backtracking search with MRV ({@link Solver}). */
+    BACKTRACKING,
+    /** Algorithm X over a Dancing Links exact-cover matrix ({@link DancingLinksSolver}). */
+    DANCING_LINKS,
+    /** Backtracking split across the common fork-join pool ({@link ParallelSolver}). */
+    PARALLEL;
+
+    /** System property naming the default strategy. */
+    public static final String PROPERTY = "sudoku.solver";
+
+    /**
+     * Creates a new solver of this type.
+     *
+     * @param geometry the shape of the boards to solve
+     * @return a new solver instance
+     */
+    public SudokuSolver create(BoardGeometry geometry) {
+        switch (this) {
+            case DANCING_LINKS:
+                return new DancingLinksSolver(geometry);
+            case PARALLEL:
+                return new ParallelSolver(geometry);
+            case BACKTRACKING:
+            default:
+                return new Solver(geometry);
+        }
+    }
+
+    /**
+     * Parses a strategy name, ignoring case and accepting '-' for '_'.
+     *
+     * @param name the strategy name, such as "dlx", "dancing-links" or "backtracking"
+     * @return the matching strategy
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static SolverType fromName(String name) {
+        String normalized = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        if (normalized.equals("DLX")) {
+            return DANCING_LINKS;
+        }
+        return valueOf(normalized);
+    }
+
+    /**
+     * Gets the strategy selected by the {@code sudoku.solver} system property.
+     *
+     * @return the configured strategy, or {@link #BACKTRACKING} if none is set
+     */
+    public static SolverType configured() {
+        String name = System.getProperty(PROPERTY);
+        return name == null || name.isBlank() ? BACKTRACKING : fromName(name);
+    }
+}
@@ -0,0 +1,437 @@
+package com.CVC.sudoku;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Headless HTTP mode that serves the solver, the generator and move validation to
+ * other programs on the local machine, using the JDK's built-in HTTP server.
+ *
+ * <p>Boards travel in the single-line format of {@link BoardFormat}, one per line:
+ * the cells row by row, with {@code 0} or {@code .} for blanks, {@code 1}-{@code 9} for
+ * digits and {@code A} upwards for 10 and above. The side (6, 9, 12, 16 or 25) follows
+ * from the length. Every request body and response is plain text with one board per
+ * line, so a single call can carry a whole batch, and the results come back in the
+ * same order. The endpoints are:</p>
+ * <ul>
+ *   <li>{@code POST /solve[?timeout=MS&budget=NODES]}: each line becomes
+ *   {@code <board>,<status>}, the board being the solution when there is one;</li>
+ *   <li>{@code POST /count[?limit=N&timeout=MS&budget=NODES]}: each line becomes
+ *   {@code <solutions>,<status>};</li>
+ *   <li>{@code GET /generate?difficulty=LEVEL[&count=N&size=S&timeout=MS]}: returns
+ *   {@code <givens>,<solution>} lines, fewer than asked for (possibly none) if the
+ *   request runs out of time;</li>
+ *   <li>{@code POST /validate}: each line {@code <board> <row> <col> <value>} (0-based
+ *   row and column, the board's digits taken as givens) becomes {@code valid},
+ *   {@code invalid} or {@code malformed}.</li>
+ * </ul>
+ *
+ * <p>Solving goes through a {@link SolverService}, so every board is bounded by a
+ * deadline (one second unless the request says otherwise) and a node budget. The status
+ * is {@code solved}, {@code unsolvable}, {@code timed_out}, {@code budget_exhausted},
+ * {@code busy} when the service has no room left, {@code error} when the service shut
+ * down or failed, or {@code malformed}. A batch submits its boards as the service has
+ * room, waiting for its own earlier boards before giving up on one as busy.</p>
+ *
+ * <p>Usage: {@code --serve [--port N] [--threads N] [--max-in-flight N] [--cache N]},
+ * where {@code --cache} keeps the solutions of up to N boards of each size in a
+ * {@link SolutionCache}; the server listens on the loopback address only. The
+ * {@link LoadGenerator} measures it.</p>
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public class SudokuServer implements AutoCloseable {
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int MAX_BODY = 16 << 20;
+    private static final int MAX_GENERATE = 1000;
+    private static final long DEFAULT_TIMEOUT_MS = 1000;
+    private static final long DEFAULT_GENERATE_TIMEOUT_MS = 10_000;
+    private static final long MAX_GENERATE_TIMEOUT_MS = 60_000;
+
+    static {
+        // Without TCP_NODELAY, the response headers and body leave in separate segments
+        // and the client's delayed ACK adds about 40 ms to every request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final SolverService service;
+    private final ThreadLocal<Map<BoardGeometry, PuzzleGenerator>> generators =
+            ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Constructs a server; it starts accepting requests with {@link #start()}.
+     *
+     * @param address the address to listen on (port 0 picks a free port)
+     * @param threads the number of threads handling requests
+     * @param service the service that runs the solver
+     * @throws IOException if the address cannot be bound
+     */
+    public SudokuServer(InetSocketAddress address, int threads, SolverService service) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.service = service;
+        this.server = HttpServer.create(address, 0);
+        this.handlers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "http-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/solve", exchange -> handle(exchange, "POST", this::solve));
+        server.createContext("/count", exchange -> handle(exchange, "POST", this::count));
+        server.createContext("/generate", exchange -> handle(exchange, "GET", this::generate));
+        server.createContext("/validate", exchange -> handle(exchange, "POST", this::validate));
+    }
+
+    /**
+     * Entry point of the server mode.
+     *
+     * @param args the command line arguments, without the leading {@code --serve}
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        int threads = 4 * Runtime.getRuntime().availableProcessors();
+        int maxInFlight = 1024;
+        int cache = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-in-flight":
+                        maxInFlight = Integer.parseInt(args[++i]);
+                        break;
+                    case "--cache":
+                        cache = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                }
+            }
+            if (cache < 0) {
+                throw new IllegalArgumentException("Cache capacity must not be negative");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --serve [--port N] [--threads N] [--max-in-flight N] [--cache N]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            SudokuServer server = new SudokuServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                    threads, new SolverService(Runtime.getRuntime().availableProcessors(), maxInFlight, cache));
+            server.start();
+            System.err.println("Listening on http://127.0.0.1:" + server.getPort() + "/");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port number
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, its handler threads and the solver service.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+        service.close();
+    }
+
+    /**
+     * The work behind one endpoint: turns the request into a response body.
+     */
+    private interface Endpoint {
+        String respond(Map<String, String> query, List<String> lines);
+    }
+
+    private void handle(HttpExchange exchange, String method, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals(method)) {
+                send(exchange, 405, "Use " + method + "\n");
+                return;
+            }
+            List<String> lines;
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] body = in.readNBytes(MAX_BODY + 1);
+                if (body.length > MAX_BODY) {
+                    send(exchange, 413, "Request body too large\n");
+                    return;
+                }
+                lines = lines(new String(body, StandardCharsets.US_ASCII));
+            }
+            String response;
+            try {
+                response = endpoint.respond(query(exchange.getRequestURI()), lines);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+            send(exchange, 200, response);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private String solve(Map<String, String> query, List<String> lines) {
+        return runBatch(query, lines, 0);
+    }
+
+    private String count(Map<String, String> query, List<String> lines) {
+        int limit = intParameter(query, "limit", 2);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return runBatch(query, lines, limit);
+    }
+
+    /**
+     * Solves or counts every board of a batch through the solver service.
+     *
+     * @param limit the solution limit of a count, or 0 to solve
+     */
+    private String runBatch(Map<String, String> query, List<String> lines, int limit) {
+        Duration timeout = Duration.ofMillis(longParameter(query, "timeout", DEFAULT_TIMEOUT_MS));
+        long budget = longParameter(query, "budget", SolverService.NO_BUDGET);
+        if (timeout.isNegative() || budget < 1) {
+            throw new IllegalArgumentException("timeout and budget must be positive");
+        }
+
+        int n = lines.size();
+        int[][][] boards = new int[n][][];
+        List<CompletableFuture<SolveResult>> results = new ArrayList<>(n);
+        int waited = 0;
+        for (int i = 0; i < n; i++) {
+            boards[i] = BoardFormat.parseBoard(lines.get(i));
+            CompletableFuture<SolveResult> result = null;
+            while (boards[i] != null) {
+                BoardGeometry geometry = BoardGeometry.ofSize(boards[i].length);
+                result = limit == 0 ? service.solve(geometry, boards[i], timeout, budget)
+                        : service.count(geometry, boards[i], limit, timeout, budget);
+                if (!isRejected(result) || waited == i) {
+                    break;
+                }
+                // Make room by waiting for an earlier board of this batch, then retry
+                CompletableFuture<SolveResult> earlier = results.get(waited++);
+                if (earlier != null) {
+                    earlier.exceptionally(error -> null).join();
+                }
+            }
+            results.add(result);
+        }
+
+        StringBuilder out = new StringBuilder(n * (lines.isEmpty() ? 0 : lines.get(0).length() + 12));
+        for (int i = 0; i < n; i++) {
+            CompletableFuture<SolveResult> future = results.get(i);
+            if (future == null) {
+                out.append(limit == 0 ? lines.get(i) : "0").append(",malformed\n");
+                continue;
+            }
+            SolveResult result;
+            try {
+                result = future.join();
+            } catch (CompletionException | CancellationException e) {
+                boolean busy = e.getCause() instanceof RejectedExecutionException;
+                out.append(limit == 0 ? BoardFormat.formatBoard(boards[i]) : "0").append(busy ? ",busy\n" : ",error\n");
+                continue;
+            }
+            if (limit == 0) {
+                int[][] solution = result.getSolution();
+                out.append(BoardFormat.formatBoard(solution != null ? solution : boards[i]));
+            } else {
+                out.append(result.getSolutionCount());
+            }
+            out.append(',').append(result.getStatus().name().toLowerCase(Locale.ROOT)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static boolean isRejected(CompletableFuture<SolveResult> result) {
+        if (!result.isCompletedExceptionally()) {
+            return false;
+        }
+        try {
+            result.join();
+            return false;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof RejectedExecutionException;
+        }
+    }
+
+    private String generate(Map<String, String> query, List<String> lines) {
+        String level = query.get("difficulty");
+        if (level == null) {
+            throw new IllegalArgumentException("difficulty is required");
+        }
+        Difficulty difficulty;
+        try {
+            difficulty = Difficulty.valueOf(level.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown difficulty " + level);
+        }
+        int count = intParameter(query, "count", 1);
+        if (count < 1 || count > MAX_GENERATE) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_GENERATE);
+        }
+        long timeout = longParameter(query, "timeout", DEFAULT_GENERATE_TIMEOUT_MS);
+        if (timeout < 1 || timeout > MAX_GENERATE_TIMEOUT_MS) {
+            throw new IllegalArgumentException("timeout must be between 1 and " + MAX_GENERATE_TIMEOUT_MS);
+        }
+        BoardGeometry geometry = BoardGeometry.ofSize(intParameter(query, "size", 6));
+        PuzzleGenerator generator = generators.get().computeIfAbsent(geometry, PuzzleGenerator::new);
+
+        // Large hard puzzles can take minutes each, so the whole request shares one deadline
+        StringBuilder out = new StringBuilder();
+        generator.setDeadline(System.nanoTime() + Duration.ofMillis(timeout).toNanos());
+        try {
+            for (int i = 0; i < count; i++) {
+                Puzzle puzzle = generator.generate(difficulty);
+                out.append(BoardFormat.formatBoard(puzzle.getGivens())).append(',')
+                        .append(BoardFormat.formatBoard(puzzle.getSolution())).append('\n');
+            }
+        } catch (CancellationException e) {
+            // Out of time: return the puzzles finished so far
+        } finally {
+            generator.clearDeadline();
+        }
+        return out.toString();
+    }
+
+    private String validate(Map<String, String> query, List<String> lines) {
+        StringBuilder out = new StringBuilder(lines.size() * 8);
+        for (String line : lines) {
+            out.append(validateMove(line)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String validateMove(String line) {
+        String[] fields = line.trim().split("\\s+");
+        int[][] board = fields.length == 4 ? BoardFormat.parseBoard(fields[0]) : null;
+        if (board == null) {
+            return "malformed";
+        }
+        int row;
+        int col;
+        int value;
+        try {
+            row = Integer.parseInt(fields[1]);
+            col = Integer.parseInt(fields[2]);
+            value = Integer.parseInt(fields[3]);
+        } catch (NumberFormatException e) {
+            return "malformed";
+        }
+        int size = board.length;
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return "malformed";
+        }
+        Model model = new Model(BoardGeometry.ofSize(size), board);
+        return model.isValidMove(row, col, value) ? "valid" : "invalid";
+    }
+
+    private static List<String> lines(String body) {
+        List<String> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                lines.add(trimmed);
+            }
+        }
+        return lines;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0) {
+                    query.put(pair.substring(0, equals), pair.substring(equals + 1));
+                }
+            }
+        }
+        return query;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int fallback) {
+        long value = longParameter(query, name, fallback);
+        if (value != (int) value) {
+            throw new IllegalArgumentException(name + " is out of range");
+        }
+        return (int) value;
+    }
+
+    private static long longParameter(Map<String, String> query, String name, long fallback) {
+        String value = query.get(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.CVC.sudoku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Common interface of the Sudoku solving strategies.
+ * Implementations keep reusable search state, so an instance must not be shared
+ * between threads; create one per thread with {@link SolverType#create(BoardGeometry)}.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public interface SudokuSolver {
+
+    /**
+     * Gets the geometry of the boards this solver works on.
+     *
+     * @return the board geometry
+     */
+    BoardGeometry getGeometry();
+
+    /**
+     * Solves a Sudoku board, filling it in place with the first solution found.
+     *
+     * @param board the board to solve (0 for empty cells)
+     * @return true if the board was solved successfully, false otherwise
+     */
+    boolean solve(int[][] board);
+
+    /**
+     * Counts the solutions of a board, stopping as soon as {@code limit} are found.
+     * The board is left unchanged.
+     *
+     * @param board the board to examine (0 for empty cells)
+     * @param limit the number of solutions after which counting stops
+     * @return the number of solutions found, at most {@code limit}
+     */
+    int countSolutions(int[][] board, int limit);
+
+    /**
+     * Enumerates the solutions of a board, handing each one to an action as a new board.
+     * The board itself is left unchanged.
+     *
+     * @param board the board to examine (0 for empty cells)
+     * @param limit the number of solutions after which enumeration stops
+     * @param action receives each solution
+     * @return the number of solutions found, at most {@code limit}
+     */
+    int findSolutions(int[][] board, int limit, Consumer<int[][]> action);
+
+    /**
+     * Collects the solutions of a board.
+     *
+     * @param board the board to examine (0 for empty cells)
+     * @param limit the maximum number of solutions to collect
+     * @return the solutions found, at most {@code limit}
+     */
+    default List<int[][]> findAllSolutions(int[][] board, int limit) {
+        List<int[][]> solutions = new ArrayList<>();
+        findSolutions(board, limit, solutions::add);
+        return solutions;
+    }
+
+    /**
+     * Gets the number of search nodes visited by this solver.
+     *
+     * @return the total node count since this solver was created
+     */
+    long getNodeCount();
+}
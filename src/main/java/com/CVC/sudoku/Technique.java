@@ -0,0 +1,55 @@
+package com.CVC.sudoku;
+
+/**
+ * Solving techniques applied by the {@link LogicalSolver}, from simplest to hardest.
+ * Each technique has a weight that adds to a puzzle's score every time it is applied,
+ * and the difficulty level a puzzle gets when this is the hardest technique it needs.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+public enum Technique {
+    /** A cell with only one candidate left. */
+    NAKED_SINGLE(1, Difficulty.EASY),
+    /** A digit with only one possible cell left in a row, column or block. */
+    HIDDEN_SINGLE(2, Difficulty.EASY),
+    /** Two cells of a unit sharing the same two candidates, which leave the rest of the unit. */
+    NAKED_PAIR(10, Difficulty.MEDIUM),
+    /** Two digits confined to the same two cells of a unit, which lose their other candidates. */
+    HIDDEN_PAIR(15, Difficulty.MEDIUM),
+    /** A digit confined to one row or column within a block, which leaves the rest of that line. */
+    POINTING(20, Difficulty.MEDIUM),
+    /** A digit confined to one block within a row or column, which leaves the rest of that block. */
+    BOX_LINE(25, Difficulty.MEDIUM),
+    /** Backtracking search, used when no technique applies. */
+    SEARCH(100, Difficulty.HARD);
+
+    private final int weight;
+    private final Difficulty difficulty;
+
+    Technique(int weight, Difficulty difficulty) {
+        this.weight = weight;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Gets the score added each time this technique is applied.
+     *
+     * @return the technique weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the difficulty of a puzzle whose hardest technique is this one.
+     *
+     * @return the difficulty level
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
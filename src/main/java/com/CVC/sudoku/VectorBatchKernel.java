@@ -0,0 +1,64 @@
+package com.CVC.sudoku;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD loops of the {@link BatchValidator}, one board per lane. Kept apart so that
+ * nothing here is loaded unless the {@code jdk.incubator.vector} module is present.
+ *
+ * @author Camilo Vivas Correa
+ * @studentID 202439049
+ * @institution Universidad del Valle
+ * @version 1.0
+ * @since 2025
+ */
+final class VectorBatchKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final IntVector ONE = IntVector.broadcast(SPECIES, 1);
+
+    private VectorBatchKernel() {
+    }
+
+    /**
+     * Gets the number of boards, out of {@code count}, that fill whole vectors.
+     */
+    static int blockedLength(int count) {
+        return SPECIES.loopBound(count);
+    }
+
+    /**
+     * Checks boards {@code 0} to {@code upTo - 1}, a multiple of the lane count, as
+     * {@link BatchValidator#validate} describes.
+     *
+     * @return the number of correct boards
+     */
+    static int validate(int[] units, int size, int cells, int all, int[] columns, int count, int upTo,
+                        boolean[] results) {
+        int[] bits = new int[cells * LANES];
+        int valid = 0;
+        for (int from = 0; from < upTo; from += LANES) {
+            for (int cell = 0; cell < cells; cell++) {
+                IntVector digit = IntVector.fromArray(SPECIES, columns, cell * count + from).sub(1);
+                VectorMask<Integer> outside = digit.compare(VectorOperators.UNSIGNED_GT, 31);
+                ONE.lanewise(VectorOperators.LSHL, digit.blend(31, outside)).intoArray(bits, cell * LANES);
+            }
+            VectorMask<Integer> correct = SPECIES.maskAll(true);
+            for (int start = 0; start < units.length; start += size) {
+                IntVector seen = IntVector.zero(SPECIES);
+                for (int k = start; k < start + size; k++) {
+                    seen = seen.or(IntVector.fromArray(SPECIES, bits, units[k] * LANES));
+                }
+                correct = correct.and(seen.compare(VectorOperators.EQ, all));
+            }
+            for (int i = 0; i < LANES; i++) {
+                results[from + i] = correct.laneIsSet(i);
+            }
+            valid += correct.trueCount();
+        }
+        return valid;
+    }
+}
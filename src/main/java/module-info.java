@@ -11,6 +11,13 @@
 module com.CVC.sudoku {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.httpserver;
+    requires java.net.http;
+    requires java.management;
+    requires jdk.jfr;
+    // Optional at run time (see BatchValidator). While the Vector API incubates, every
+    // compile prints "using incubating module(s)"; javac has no flag to silence it
+    requires static jdk.incubator.vector;
 
     opens com.CVC.sudoku to javafx.fxml;
     exports com.CVC.sudoku;